@@ -12,31 +12,105 @@ import com.hankcs.hanlp.utility.Predefine;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.util.SetOnce;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.io.FileSystemUtils;
 import org.opensearch.common.io.PathUtils;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.IndexScopedSettings;
+import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.settings.SettingsFilter;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.env.Environment;
+import org.opensearch.env.NodeEnvironment;
+import org.opensearch.index.Index;
+import org.opensearch.index.IndexModule;
+import org.opensearch.index.IndexSettings;
 import org.opensearch.index.analysis.AnalyzerProvider;
+import org.opensearch.index.analysis.CharFilterFactory;
+import org.opensearch.index.analysis.TokenFilterFactory;
 import org.opensearch.index.analysis.TokenizerFactory;
+import org.opensearch.index.shard.IndexEventListener;
+import org.opensearch.indices.cluster.IndicesClusterStateService;
+import org.opensearch.indices.SystemIndexDescriptor;
 import org.opensearch.indices.analysis.AnalysisModule;
+import org.opensearch.ingest.Processor;
+import org.opensearch.plugin.analysis.hanlp.action.AnalysisStatsAction;
+import org.opensearch.plugin.analysis.hanlp.action.CustomWordsAction;
+import org.opensearch.plugin.analysis.hanlp.action.PublishDictionaryAction;
+import org.opensearch.plugin.analysis.hanlp.action.SwapModelAction;
+import org.opensearch.plugin.analysis.hanlp.action.TransportAnalysisStatsAction;
+import org.opensearch.plugin.analysis.hanlp.action.TransportCustomWordsAction;
+import org.opensearch.plugin.analysis.hanlp.action.TransportPublishDictionaryAction;
+import org.opensearch.plugin.analysis.hanlp.action.TransportSwapModelAction;
 import org.opensearch.plugin.analysis.hanlp.analyzer.HanLPAnalyzerProvider;
+import org.opensearch.plugin.analysis.hanlp.charfilter.HanLPConversionCharFilterFactory;
+import org.opensearch.plugin.analysis.hanlp.charfilter.HanLPNormalizeCharFilterFactory;
+import org.opensearch.plugin.analysis.hanlp.config.PluginSettings;
+import org.opensearch.plugin.analysis.hanlp.dictionary.ClusterDictionaryPublisher;
+import org.opensearch.plugin.analysis.hanlp.dictionary.CustomDictionaryRegistry;
+import org.opensearch.plugin.analysis.hanlp.filter.HanLPKeywordsTokenFilterFactory;
+import org.opensearch.plugin.analysis.hanlp.filter.HanLPPinyinTokenFilterFactory;
+import org.opensearch.plugin.analysis.hanlp.filter.HanLPPosTokenFilterFactory;
+import org.opensearch.plugin.analysis.hanlp.filter.HanLPSynonymTokenFilterFactory;
+import org.opensearch.plugin.analysis.hanlp.ingest.HanLPNerProcessor;
+import org.opensearch.plugin.analysis.hanlp.ingest.HanLPSegmentProcessor;
+import org.opensearch.plugin.analysis.hanlp.model.ModelPreloader;
+import org.opensearch.plugin.analysis.hanlp.model.PerceptronModelLoader;
+import org.opensearch.plugin.analysis.hanlp.query.HanLPPosQueryBuilder;
+import org.opensearch.plugin.analysis.hanlp.rest.RestAnalysisStatsAction;
+import org.opensearch.plugin.analysis.hanlp.rest.RestCustomWordsAction;
+import org.opensearch.plugin.analysis.hanlp.rest.RestReadyAction;
+import org.opensearch.plugin.analysis.hanlp.rest.RestSegmentAction;
+import org.opensearch.plugin.analysis.hanlp.rest.RestSwapModelAction;
+import org.opensearch.plugin.analysis.hanlp.rest.RestSynonymStatsAction;
+import org.opensearch.plugin.analysis.hanlp.stats.AdaptiveStats;
+import org.opensearch.plugin.analysis.hanlp.stats.TokenizerStats;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.HanLPAdaptiveTokenizerFactory;
 import org.opensearch.plugin.analysis.hanlp.tokenizer.HanLPTokenizerFactory;
+import org.opensearch.plugins.ActionPlugin;
 import org.opensearch.plugins.AnalysisPlugin;
+import org.opensearch.plugins.IngestPlugin;
 import org.opensearch.plugins.Plugin;
+import org.opensearch.plugins.SearchPlugin;
+import org.opensearch.plugins.SystemIndexPlugin;
+import org.opensearch.repositories.RepositoriesService;
+import org.opensearch.rest.RestController;
+import org.opensearch.rest.RestHandler;
+import org.opensearch.script.ScriptService;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.watcher.ResourceWatcherService;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The analysis hanLP plugin.
  *
  * @author Rory Ye
  */
-public class AnalysisHanLPPlugin extends Plugin implements AnalysisPlugin {
+public class AnalysisHanLPPlugin extends Plugin implements AnalysisPlugin, ActionPlugin, IngestPlugin, SearchPlugin,
+        SystemIndexPlugin {
 
     /**
      * Plugin name is {@code opensearch-analysis-hanlp}.
@@ -48,8 +122,24 @@ public class AnalysisHanLPPlugin extends Plugin implements AnalysisPlugin {
      */
     public static final String CONFIG_FILE_NAME = "hanlp.properties";
 
+    /**
+     * The bounded thread pool of the ingest processors is {@code hanlp}.
+     */
+    public static final String THREAD_POOL_NAME = "hanlp";
+
+    /**
+     * 线程池队列长度，队列满后被拒绝的文档在调用线程上处理
+     */
+    private static final int THREAD_POOL_QUEUE_SIZE = 1000;
+
     private static final Logger logger = LogManager.getLogger(AnalysisHanLPPlugin.class);
 
+    private final ModelPreloader preloader;
+
+    private final SetOnce<ThreadPool> threadPool = new SetOnce<>();
+
+    private final SetOnce<Environment> environment = new SetOnce<>();
+
     /**
      * Init AnalysisHanLPPlugin with settings.
      *
@@ -67,8 +157,81 @@ public class AnalysisHanLPPlugin extends Plugin implements AnalysisPlugin {
             Predefine.HANLP_PROPERTIES_PATH = configDir.resolve(CONFIG_FILE_NAME).toString();
             logger.debug("hanlp properties path: {}", Predefine.HANLP_PROPERTIES_PATH);
         }
+        PerceptronModelLoader.setFormat(PluginSettings.MODEL_FORMAT.get(settings));
+        this.preloader = new ModelPreloader(settings);
+    }
+
+
+    @Override
+    public List<Setting<?>> getSettings() {
+        return PluginSettings.getSettings();
+    }
+
+    @Override
+    public Collection<Object> createComponents(Client client, ClusterService clusterService, ThreadPool threadPool,
+                                               ResourceWatcherService resourceWatcherService, ScriptService scriptService,
+                                               NamedXContentRegistry xContentRegistry, Environment environment,
+                                               NodeEnvironment nodeEnvironment, NamedWriteableRegistry namedWriteableRegistry,
+                                               IndexNameExpressionResolver indexNameExpressionResolver,
+                                               Supplier<RepositoriesService> repositoriesServiceSupplier) {
+        this.threadPool.set(threadPool);
+        this.environment.set(environment);
+        ClusterDictionaryPublisher publisher = new ClusterDictionaryPublisher(client, clusterService, threadPool);
+        clusterService.addListener(publisher);
+        preloader.start();
+        return Arrays.asList(publisher, preloader);
+    }
+
+    @Override
+    public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
+        return Collections.singletonList(new FixedExecutorBuilder(settings, THREAD_POOL_NAME,
+                OpenSearchExecutors.allocatedProcessors(settings), THREAD_POOL_QUEUE_SIZE, "thread_pool." + THREAD_POOL_NAME));
+    }
+
+    @Override
+    public void onIndexModule(IndexModule indexModule) {
+        indexModule.addIndexEventListener(new IndexEventListener() {
+            @Override
+            public void afterIndexRemoved(Index index, IndexSettings indexSettings,
+                                          IndicesClusterStateService.AllocatedIndices.IndexRemovalReason reason) {
+                // 索引从本节点移除后释放其自定义词典和统计
+                CustomDictionaryRegistry.getInstance().release(index);
+                TokenizerStats.remove(index.getName());
+                AdaptiveStats.remove(index.getName());
+            }
+        });
+    }
+
+    @Override
+    public Collection<SystemIndexDescriptor> getSystemIndexDescriptors(Settings settings) {
+        return Collections.singletonList(
+                new SystemIndexDescriptor(ClusterDictionaryPublisher.INDEX, "HanLP custom dictionary and stop word sources")
+        );
+    }
+
+    @Override
+    public Map<String, AnalysisModule.AnalysisProvider<CharFilterFactory>> getCharFilters() {
+        Map<String, AnalysisModule.AnalysisProvider<CharFilterFactory>> extra = new HashMap<>();
+
+        extra.put("hanlp_t2s", HanLPConversionCharFilterFactory::getT2SCharFilterFactory);
+        extra.put("hanlp_s2t", HanLPConversionCharFilterFactory::getS2TCharFilterFactory);
+        extra.put("hanlp_normalize", HanLPNormalizeCharFilterFactory::new);
+
+        return extra;
     }
 
+    @Override
+    public Map<String, AnalysisModule.AnalysisProvider<TokenFilterFactory>> getTokenFilters() {
+        Map<String, AnalysisModule.AnalysisProvider<TokenFilterFactory>> extra = new HashMap<>();
+
+        extra.put("hanlp_synonym", HanLPSynonymTokenFilterFactory::new);
+        extra.put("hanlp_pinyin", HanLPPinyinTokenFilterFactory::getPinyinTokenFilterFactory);
+        extra.put("hanlp_pinyin_initials", HanLPPinyinTokenFilterFactory::getPinyinInitialsTokenFilterFactory);
+        extra.put("hanlp_pos_filter", HanLPPosTokenFilterFactory::new);
+        extra.put("hanlp_keywords", HanLPKeywordsTokenFilterFactory::new);
+
+        return extra;
+    }
 
     @Override
     public Map<String, AnalysisModule.AnalysisProvider<TokenizerFactory>> getTokenizers() {
@@ -97,6 +260,7 @@ public class AnalysisHanLPPlugin extends Plugin implements AnalysisPlugin {
         extra.put("hanlp_n_short", HanLPTokenizerFactory::getHanLPNShortTokenizerFactory);
         extra.put("hanlp_dijkstra", HanLPTokenizerFactory::getHanLPDijkstraTokenizerFactory);
         extra.put("hanlp_speed", HanLPTokenizerFactory::getHanLPSpeedTokenizerFactory);
+        extra.put("hanlp_adaptive", HanLPAdaptiveTokenizerFactory::new);
 
         return extra;
     }
@@ -130,4 +294,46 @@ public class AnalysisHanLPPlugin extends Plugin implements AnalysisPlugin {
 
         return extra;
     }
+
+    @Override
+    public Map<String, Processor.Factory> getProcessors(Processor.Parameters parameters) {
+        // 处理器在createComponents之前创建，执行时才取线程池
+        Consumer<Runnable> executor = runnable -> threadPool.get().executor(THREAD_POOL_NAME).execute(runnable);
+        Map<String, Processor.Factory> processors = new HashMap<>();
+        processors.put(HanLPSegmentProcessor.TYPE, new HanLPSegmentProcessor.Factory(parameters, executor));
+        processors.put(HanLPNerProcessor.TYPE, new HanLPNerProcessor.Factory(parameters, executor));
+        return processors;
+    }
+
+    @Override
+    public List<QuerySpec<?>> getQueries() {
+        return Collections.singletonList(
+                new QuerySpec<>(HanLPPosQueryBuilder.NAME, HanLPPosQueryBuilder::new, HanLPPosQueryBuilder::fromXContent)
+        );
+    }
+
+    @Override
+    public List<ActionHandler<? extends ActionRequest, ? extends ActionResponse>> getActions() {
+        return Arrays.asList(
+                new ActionHandler<>(CustomWordsAction.INSTANCE, TransportCustomWordsAction.class),
+                new ActionHandler<>(PublishDictionaryAction.INSTANCE, TransportPublishDictionaryAction.class),
+                new ActionHandler<>(SwapModelAction.INSTANCE, TransportSwapModelAction.class),
+                new ActionHandler<>(AnalysisStatsAction.INSTANCE, TransportAnalysisStatsAction.class)
+        );
+    }
+
+    @Override
+    public List<RestHandler> getRestHandlers(Settings settings, RestController restController, ClusterSettings clusterSettings,
+                                             IndexScopedSettings indexScopedSettings, SettingsFilter settingsFilter,
+                                             IndexNameExpressionResolver indexNameExpressionResolver,
+                                             Supplier<DiscoveryNodes> nodesInCluster) {
+        return Arrays.asList(
+                new RestAnalysisStatsAction(),
+                new RestCustomWordsAction(),
+                new RestReadyAction(preloader),
+                new RestSegmentAction(environment::get),
+                new RestSwapModelAction(),
+                new RestSynonymStatsAction()
+        );
+    }
 }
@@ -0,0 +1,26 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * The action to collect the analysis stats of all nodes.
+ *
+ * @author Rory Ye
+ */
+public class AnalysisStatsAction extends ActionType<AnalysisStatsResponse> {
+
+    public static final AnalysisStatsAction INSTANCE = new AnalysisStatsAction();
+
+    public static final String NAME = "cluster:monitor/hanlp/stats";
+
+    private AnalysisStatsAction() {
+        super(NAME, AnalysisStatsResponse::new);
+    }
+}
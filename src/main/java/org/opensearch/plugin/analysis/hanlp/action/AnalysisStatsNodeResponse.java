@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.plugin.analysis.hanlp.ingest.ProcessorStats;
+import org.opensearch.plugin.analysis.hanlp.stats.AdaptiveStats;
+import org.opensearch.plugin.analysis.hanlp.stats.TokenizerStats;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The analysis stats of a single node: the tokenizers by type and index, the engines chosen by the adaptive tokenizers
+ * by tokenizer and index, and the ingest processors.
+ *
+ * @author Rory Ye
+ */
+public class AnalysisStatsNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private final List<TokenizerStats> tokenizers;
+
+    private final List<AdaptiveStats> adaptive;
+
+    private final List<ProcessorStats> processors;
+
+    public AnalysisStatsNodeResponse(DiscoveryNode node, List<TokenizerStats> tokenizers, List<AdaptiveStats> adaptive,
+                                     List<ProcessorStats> processors) {
+        super(node);
+        this.tokenizers = tokenizers;
+        this.adaptive = adaptive;
+        this.processors = processors;
+    }
+
+    public AnalysisStatsNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        this.tokenizers = in.readList(TokenizerStats::new);
+        this.adaptive = in.readList(AdaptiveStats::new);
+        this.processors = in.readList(ProcessorStats::new);
+    }
+
+    public List<TokenizerStats> getTokenizers() {
+        return tokenizers;
+    }
+
+    public List<AdaptiveStats> getAdaptive() {
+        return adaptive;
+    }
+
+    public List<ProcessorStats> getProcessors() {
+        return processors;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeList(tokenizers);
+        out.writeList(adaptive);
+        out.writeList(processors);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(getNode().getId());
+        builder.field("name", getNode().getName());
+        toXContent(builder, params, tokenizers, adaptive, processors);
+        builder.endObject();
+        return builder;
+    }
+
+    /**
+     * The stats fields shared by a node and the whole cluster.
+     */
+    static void toXContent(XContentBuilder builder, Params params, List<TokenizerStats> tokenizers, List<AdaptiveStats> adaptive,
+                           List<ProcessorStats> processors) throws IOException {
+        builder.startArray("tokenizers");
+        for (TokenizerStats stats : tokenizers) {
+            stats.toXContent(builder, params);
+        }
+        builder.endArray();
+        builder.startArray("adaptive");
+        for (AdaptiveStats stats : adaptive) {
+            stats.toXContent(builder, params);
+        }
+        builder.endArray();
+        builder.startArray("ingest");
+        for (ProcessorStats stats : processors) {
+            stats.toXContent(builder, params);
+        }
+        builder.endArray();
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.common.io.stream.StreamInput;
+
+import java.io.IOException;
+
+/**
+ * The request to collect the analysis stats of all nodes.
+ *
+ * @author Rory Ye
+ */
+public class AnalysisStatsRequest extends BaseNodesRequest<AnalysisStatsRequest> {
+
+    public AnalysisStatsRequest(String... nodesIds) {
+        super(nodesIds);
+    }
+
+    public AnalysisStatsRequest(StreamInput in) throws IOException {
+        super(in);
+    }
+}
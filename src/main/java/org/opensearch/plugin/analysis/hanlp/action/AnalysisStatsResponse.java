@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.plugin.analysis.hanlp.ingest.ProcessorStats;
+import org.opensearch.plugin.analysis.hanlp.stats.AdaptiveStats;
+import org.opensearch.plugin.analysis.hanlp.stats.TokenizerStats;
+import org.opensearch.rest.action.RestActions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The analysis stats of all nodes, added up by tokenizer type and index, adaptive engine and ingest processor. The
+ * tokenizers are sorted by the time spent in segmentation, the most expensive first. The stats of every node are
+ * listed as well with {@code level=nodes}.
+ *
+ * @author Rory Ye
+ */
+public class AnalysisStatsResponse extends BaseNodesResponse<AnalysisStatsNodeResponse> implements ToXContentObject {
+
+    public AnalysisStatsResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    public AnalysisStatsResponse(ClusterName clusterName, List<AnalysisStatsNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<AnalysisStatsNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(AnalysisStatsNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<AnalysisStatsNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        Map<String, TokenizerStats> tokenizers = new LinkedHashMap<>();
+        Map<String, AdaptiveStats> adaptive = new LinkedHashMap<>();
+        Map<String, ProcessorStats> processors = new LinkedHashMap<>();
+        for (AnalysisStatsNodeResponse node : getNodes()) {
+            for (TokenizerStats stats : node.getTokenizers()) {
+                TokenizerStats total = tokenizers.get(stats.getKey());
+                if (total == null) {
+                    tokenizers.put(stats.getKey(), stats.copy());
+                } else {
+                    total.add(stats);
+                }
+            }
+            for (AdaptiveStats stats : node.getAdaptive()) {
+                AdaptiveStats total = adaptive.get(stats.getKey());
+                if (total == null) {
+                    adaptive.put(stats.getKey(), stats.copy());
+                } else {
+                    total.add(stats);
+                }
+            }
+            for (ProcessorStats stats : node.getProcessors()) {
+                ProcessorStats total = processors.get(stats.getKey());
+                if (total == null) {
+                    processors.put(stats.getKey(), stats.copy());
+                } else {
+                    total.add(stats);
+                }
+            }
+        }
+        List<TokenizerStats> sorted = new ArrayList<>(tokenizers.values());
+        sorted.sort(Comparator.comparingLong(TokenizerStats::getTimeInNanos).reversed());
+
+        builder.startObject();
+        RestActions.buildNodesHeader(builder, params, this);
+        builder.field("cluster_name", getClusterName().value());
+        AnalysisStatsNodeResponse.toXContent(builder, params, sorted, new ArrayList<>(adaptive.values()),
+                new ArrayList<>(processors.values()));
+        if ("nodes".equals(params.param("level"))) {
+            builder.startObject("nodes");
+            for (AnalysisStatsNodeResponse node : getNodes()) {
+                node.toXContent(builder, params);
+            }
+            builder.endObject();
+        }
+        builder.endObject();
+        return builder;
+    }
+}
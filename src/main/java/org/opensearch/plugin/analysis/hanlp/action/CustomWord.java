@@ -0,0 +1,127 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The custom word with its nature and frequency.
+ *
+ * @author Rory Ye
+ */
+public class CustomWord implements Writeable {
+
+    /**
+     * 默认词性
+     */
+    public static final String DEFAULT_NATURE = "n";
+
+    /**
+     * 默认词频
+     */
+    public static final int DEFAULT_FREQUENCY = 1000;
+
+    private final String word;
+
+    private final String nature;
+
+    private final int frequency;
+
+    public CustomWord(String word, String nature, int frequency) {
+        if (word == null || word.trim().isEmpty()) {
+            throw new IllegalArgumentException("custom word can not be empty");
+        }
+        // 词典按空白切分每一行，写入词典索引前拒绝
+        if (containsWhitespace(word)) {
+            throw new IllegalArgumentException("custom word [" + word + "] can not contain whitespace");
+        }
+        String checkedNature = nature == null ? DEFAULT_NATURE : nature;
+        if (checkedNature.isEmpty() || containsWhitespace(checkedNature)) {
+            throw new IllegalArgumentException("nature [" + checkedNature + "] of custom word [" + word
+                    + "] can not be empty or contain whitespace");
+        }
+        if (frequency <= 0) {
+            throw new IllegalArgumentException("frequency of custom word [" + word + "] must be positive");
+        }
+        this.word = word;
+        this.nature = checkedNature;
+        this.frequency = frequency;
+    }
+
+    private static boolean containsWhitespace(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isWhitespace(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CustomWord(StreamInput in) throws IOException {
+        this.word = in.readString();
+        this.nature = in.readString();
+        this.frequency = in.readVInt();
+    }
+
+    /**
+     * Parse a custom word from the request body, a word is either a plain string or an object like
+     * {@code {"word": "...", "nature": "nz", "frequency": 1000}}.
+     *
+     * @param value the request value
+     * @return the custom word
+     */
+    public static CustomWord parse(Object value) {
+        if (value instanceof String) {
+            return new CustomWord((String) value, DEFAULT_NATURE, DEFAULT_FREQUENCY);
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Object word = map.get("word");
+            Object nature = map.get("nature");
+            Object frequency = map.get("frequency");
+            return new CustomWord(
+                    word == null ? null : word.toString(),
+                    nature == null ? DEFAULT_NATURE : nature.toString(),
+                    frequency == null ? DEFAULT_FREQUENCY : Integer.parseInt(frequency.toString()));
+        }
+        throw new IllegalArgumentException("can not parse custom word from [" + value + "]");
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(word);
+        out.writeString(nature);
+        out.writeVInt(frequency);
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public String getNature() {
+        return nature;
+    }
+
+    public int getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * The nature with frequency in hanLP dictionary format.
+     *
+     * @return like {@code nz 1000}
+     */
+    public String getNatureWithFrequency() {
+        return nature + " " + frequency;
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * The action to add or remove custom words on all nodes.
+ *
+ * @author Rory Ye
+ */
+public class CustomWordsAction extends ActionType<CustomWordsResponse> {
+
+    public static final CustomWordsAction INSTANCE = new CustomWordsAction();
+
+    public static final String NAME = "cluster:admin/hanlp/dictionary/words";
+
+    private CustomWordsAction() {
+        super(NAME, CustomWordsResponse::new);
+    }
+}
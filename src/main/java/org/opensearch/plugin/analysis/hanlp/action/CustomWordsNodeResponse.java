@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * The custom words response of a single node.
+ *
+ * @author Rory Ye
+ */
+public class CustomWordsNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private final int added;
+
+    private final int removed;
+
+    private final int onlineWords;
+
+    private final int onlineRemovedWords;
+
+    public CustomWordsNodeResponse(DiscoveryNode node, int added, int removed, int onlineWords, int onlineRemovedWords) {
+        super(node);
+        this.added = added;
+        this.removed = removed;
+        this.onlineWords = onlineWords;
+        this.onlineRemovedWords = onlineRemovedWords;
+    }
+
+    public CustomWordsNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        this.added = in.readVInt();
+        this.removed = in.readVInt();
+        this.onlineWords = in.readVInt();
+        this.onlineRemovedWords = in.readVInt();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeVInt(added);
+        out.writeVInt(removed);
+        out.writeVInt(onlineWords);
+        out.writeVInt(onlineRemovedWords);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(getNode().getId());
+        builder.field("name", getNode().getName());
+        builder.field("added", added);
+        builder.field("removed", removed);
+        builder.field("online_words", onlineWords);
+        builder.field("online_removed_words", onlineRemovedWords);
+        builder.endObject();
+        return builder;
+    }
+}
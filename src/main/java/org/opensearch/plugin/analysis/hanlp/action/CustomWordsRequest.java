@@ -0,0 +1,77 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * The request to add or remove custom words on all nodes.
+ *
+ * @author Rory Ye
+ */
+public class CustomWordsRequest extends BaseNodesRequest<CustomWordsRequest> {
+
+    private final List<CustomWord> additions;
+
+    private final List<String> removals;
+
+    public CustomWordsRequest(String... nodesIds) {
+        super(nodesIds);
+        this.additions = new ArrayList<>();
+        this.removals = new ArrayList<>();
+    }
+
+    public CustomWordsRequest(StreamInput in) throws IOException {
+        super(in);
+        this.additions = in.readList(CustomWord::new);
+        this.removals = in.readStringList();
+    }
+
+    public CustomWordsRequest add(CustomWord word) {
+        additions.add(word);
+        return this;
+    }
+
+    public CustomWordsRequest remove(String word) {
+        removals.add(word);
+        return this;
+    }
+
+    public List<CustomWord> getAdditions() {
+        return additions;
+    }
+
+    public List<String> getRemovals() {
+        return removals;
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (additions.isEmpty() && removals.isEmpty()) {
+            validationException = addValidationError("no custom word to add or remove", validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeList(additions);
+        out.writeStringCollection(removals);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * The action to publish the cluster dictionary to nodes.
+ *
+ * @author Rory Ye
+ */
+public class PublishDictionaryAction extends ActionType<PublishDictionaryResponse> {
+
+    public static final PublishDictionaryAction INSTANCE = new PublishDictionaryAction();
+
+    public static final String NAME = "cluster:admin/hanlp/dictionary/publish";
+
+    private PublishDictionaryAction() {
+        super(NAME, PublishDictionaryResponse::new);
+    }
+}
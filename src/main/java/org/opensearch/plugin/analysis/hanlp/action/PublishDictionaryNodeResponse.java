@@ -0,0 +1,45 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+
+/**
+ * The publish response of a single node.
+ *
+ * @author Rory Ye
+ */
+public class PublishDictionaryNodeResponse extends BaseNodeResponse {
+
+    private final boolean applied;
+
+    public PublishDictionaryNodeResponse(DiscoveryNode node, boolean applied) {
+        super(node);
+        this.applied = applied;
+    }
+
+    public PublishDictionaryNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        this.applied = in.readBoolean();
+    }
+
+    public boolean isApplied() {
+        return applied;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeBoolean(applied);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.plugin.analysis.hanlp.dictionary.ClusterDictionary;
+
+import java.io.IOException;
+
+/**
+ * The request to publish the cluster dictionary to nodes.
+ *
+ * @author Rory Ye
+ */
+public class PublishDictionaryRequest extends BaseNodesRequest<PublishDictionaryRequest> {
+
+    /**
+     * 为空时表示集群词典已被删除
+     */
+    private final ClusterDictionary dictionary;
+
+    /**
+     * 集群主节点任期，词典被删除时也要比较
+     */
+    private final long term;
+
+    /**
+     * 任期内的版本
+     */
+    private final long version;
+
+    public PublishDictionaryRequest(ClusterDictionary dictionary, long term, long version, String... nodesIds) {
+        super(nodesIds);
+        this.dictionary = dictionary;
+        this.term = term;
+        this.version = version;
+    }
+
+    public PublishDictionaryRequest(StreamInput in) throws IOException {
+        super(in);
+        this.dictionary = in.readOptionalWriteable(ClusterDictionary::new);
+        this.term = in.readVLong();
+        this.version = in.readVLong();
+    }
+
+    public ClusterDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public long getTerm() {
+        return term;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeOptionalWriteable(dictionary);
+        out.writeVLong(term);
+        out.writeVLong(version);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The publish response of all nodes.
+ *
+ * @author Rory Ye
+ */
+public class PublishDictionaryResponse extends BaseNodesResponse<PublishDictionaryNodeResponse> {
+
+    public PublishDictionaryResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    public PublishDictionaryResponse(ClusterName clusterName, List<PublishDictionaryNodeResponse> nodes,
+                                     List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<PublishDictionaryNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(PublishDictionaryNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<PublishDictionaryNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+}
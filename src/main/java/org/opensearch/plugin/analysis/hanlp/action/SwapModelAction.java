@@ -0,0 +1,26 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * The action to swap a model on all nodes.
+ *
+ * @author Rory Ye
+ */
+public class SwapModelAction extends ActionType<SwapModelResponse> {
+
+    public static final SwapModelAction INSTANCE = new SwapModelAction();
+
+    public static final String NAME = "cluster:admin/hanlp/model/swap";
+
+    private SwapModelAction() {
+        super(NAME, SwapModelResponse::new);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * The model swap response of a single node.
+ *
+ * @author Rory Ye
+ */
+public class SwapModelNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private final boolean swapped;
+
+    private final long generation;
+
+    private final double score;
+
+    /**
+     * 当前模型的得分，没有当前模型时为空
+     */
+    private final Double currentScore;
+
+    private final double identicalSentences;
+
+    private final long tookInMillis;
+
+    public SwapModelNodeResponse(DiscoveryNode node, boolean swapped, long generation, double score, Double currentScore,
+                                 double identicalSentences, long tookInMillis) {
+        super(node);
+        this.swapped = swapped;
+        this.generation = generation;
+        this.score = score;
+        this.currentScore = currentScore;
+        this.identicalSentences = identicalSentences;
+        this.tookInMillis = tookInMillis;
+    }
+
+    public SwapModelNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        this.swapped = in.readBoolean();
+        this.generation = in.readVLong();
+        this.score = in.readDouble();
+        this.currentScore = in.readOptionalDouble();
+        this.identicalSentences = in.readDouble();
+        this.tookInMillis = in.readVLong();
+    }
+
+    public boolean isSwapped() {
+        return swapped;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeBoolean(swapped);
+        out.writeVLong(generation);
+        out.writeDouble(score);
+        out.writeOptionalDouble(currentScore);
+        out.writeDouble(identicalSentences);
+        out.writeVLong(tookInMillis);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(getNode().getId());
+        builder.field("name", getNode().getName());
+        builder.field("swapped", swapped);
+        builder.field("generation", generation);
+        builder.field("score", score);
+        builder.field("current_score", currentScore);
+        builder.field("identical_sentences", identicalSentences);
+        builder.field("took_in_millis", tookInMillis);
+        builder.endObject();
+        return builder;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.plugin.analysis.hanlp.model.ModelRegistry;
+import org.opensearch.plugin.analysis.hanlp.model.ModelType;
+
+import java.io.IOException;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * The request to swap a model on all nodes.
+ *
+ * @author Rory Ye
+ */
+public class SwapModelRequest extends BaseNodesRequest<SwapModelRequest> {
+
+    private final ModelType model;
+
+    /**
+     * 新模型的路径，相对于插件目录
+     */
+    private final String path;
+
+    /**
+     * 新模型在验证语料上相对标注的最低得分
+     */
+    private double minScore = ModelRegistry.DEFAULT_MIN_SCORE;
+
+    public SwapModelRequest(ModelType model, String path, String... nodesIds) {
+        super(nodesIds);
+        this.model = model;
+        this.path = path;
+    }
+
+    public SwapModelRequest(StreamInput in) throws IOException {
+        super(in);
+        this.model = in.readEnum(ModelType.class);
+        this.path = in.readString();
+        this.minScore = in.readDouble();
+    }
+
+    public ModelType getModel() {
+        return model;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public double getMinScore() {
+        return minScore;
+    }
+
+    public SwapModelRequest setMinScore(double minScore) {
+        this.minScore = minScore;
+        return this;
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (path == null || path.isEmpty()) {
+            validationException = addValidationError("model path is missing", validationException);
+        }
+        if (minScore < 0 || minScore > 1) {
+            validationException = addValidationError("min_score must be between 0 and 1", validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeEnum(model);
+        out.writeString(path);
+        out.writeDouble(minScore);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.action.RestActions;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The model swap response of all nodes.
+ *
+ * @author Rory Ye
+ */
+public class SwapModelResponse extends BaseNodesResponse<SwapModelNodeResponse> implements ToXContentObject {
+
+    public SwapModelResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    public SwapModelResponse(ClusterName clusterName, List<SwapModelNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<SwapModelNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(SwapModelNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<SwapModelNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        RestActions.buildNodesHeader(builder, params, this);
+        builder.field("cluster_name", getClusterName().value());
+        builder.startObject("nodes");
+        for (SwapModelNodeResponse node : getNodes()) {
+            node.toXContent(builder, params);
+        }
+        builder.endObject();
+        builder.endObject();
+        return builder;
+    }
+}
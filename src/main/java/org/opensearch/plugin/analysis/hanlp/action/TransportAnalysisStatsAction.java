@@ -0,0 +1,98 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.plugin.analysis.hanlp.ingest.ProcessorStats;
+import org.opensearch.plugin.analysis.hanlp.stats.AdaptiveStats;
+import org.opensearch.plugin.analysis.hanlp.stats.TokenizerStats;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportRequest;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collect the analysis stats of every node, the stats are copied so adding them up does not touch the live counters.
+ *
+ * @author Rory Ye
+ */
+public class TransportAnalysisStatsAction extends TransportNodesAction<AnalysisStatsRequest, AnalysisStatsResponse,
+        TransportAnalysisStatsAction.NodeRequest, AnalysisStatsNodeResponse> {
+
+    @Inject
+    public TransportAnalysisStatsAction(ThreadPool threadPool, ClusterService clusterService, TransportService transportService,
+                                        ActionFilters actionFilters) {
+        super(AnalysisStatsAction.NAME, threadPool, clusterService, transportService, actionFilters,
+                AnalysisStatsRequest::new, NodeRequest::new, ThreadPool.Names.MANAGEMENT, AnalysisStatsNodeResponse.class);
+    }
+
+    @Override
+    protected AnalysisStatsResponse newResponse(AnalysisStatsRequest request, List<AnalysisStatsNodeResponse> responses,
+                                                List<FailedNodeException> failures) {
+        return new AnalysisStatsResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(AnalysisStatsRequest request) {
+        return new NodeRequest(request);
+    }
+
+    @Override
+    protected AnalysisStatsNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new AnalysisStatsNodeResponse(in);
+    }
+
+    @Override
+    protected AnalysisStatsNodeResponse nodeOperation(NodeRequest nodeRequest) {
+        List<TokenizerStats> tokenizers = new ArrayList<>();
+        for (TokenizerStats stats : TokenizerStats.all()) {
+            tokenizers.add(stats.copy());
+        }
+        List<AdaptiveStats> adaptive = new ArrayList<>();
+        for (AdaptiveStats stats : AdaptiveStats.all()) {
+            adaptive.add(stats.copy());
+        }
+        List<ProcessorStats> processors = new ArrayList<>();
+        for (ProcessorStats stats : ProcessorStats.all()) {
+            processors.add(stats.copy());
+        }
+        return new AnalysisStatsNodeResponse(clusterService.localNode(), tokenizers, adaptive, processors);
+    }
+
+    /**
+     * The request sent to every node.
+     */
+    public static class NodeRequest extends TransportRequest {
+
+        private final AnalysisStatsRequest request;
+
+        public NodeRequest(AnalysisStatsRequest request) {
+            this.request = request;
+        }
+
+        public NodeRequest(StreamInput in) throws IOException {
+            super(in);
+            this.request = new AnalysisStatsRequest(in);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            request.writeTo(out);
+        }
+    }
+}
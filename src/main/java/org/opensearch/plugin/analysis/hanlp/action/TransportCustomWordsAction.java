@@ -0,0 +1,134 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.ContextPreservingActionListener;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.plugin.analysis.hanlp.dictionary.ClusterDictionaryPublisher;
+import org.opensearch.plugin.analysis.hanlp.dictionary.CustomWordOverlay;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportRequest;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Store the custom words as sources of the cluster dictionary, then apply them to the online overlay of every node so
+ * they are visible at once. The nodes which miss the broadcast get the words with the next published dictionary.
+ *
+ * @author Rory Ye
+ */
+public class TransportCustomWordsAction extends TransportNodesAction<CustomWordsRequest, CustomWordsResponse,
+        TransportCustomWordsAction.NodeRequest, CustomWordsNodeResponse> {
+
+    private final Client client;
+
+    @Inject
+    public TransportCustomWordsAction(ThreadPool threadPool, ClusterService clusterService, TransportService transportService,
+                                      ActionFilters actionFilters, Client client) {
+        super(CustomWordsAction.NAME, threadPool, clusterService, transportService, actionFilters,
+                CustomWordsRequest::new, NodeRequest::new, ThreadPool.Names.MANAGEMENT, CustomWordsNodeResponse.class);
+        this.client = client;
+    }
+
+    @Override
+    protected void doExecute(Task task, CustomWordsRequest request, ActionListener<CustomWordsResponse> listener) {
+        BulkRequest bulkRequest = new BulkRequest();
+        // 同一个词先删后加，与节点上的顺序一致
+        for (String removal : request.getRemovals()) {
+            bulkRequest.add(new IndexRequest(ClusterDictionaryPublisher.INDEX)
+                    .id(ClusterDictionaryPublisher.ONLINE_WORD_ID_PREFIX + removal)
+                    .source("type", "remove", "content", removal));
+        }
+        for (CustomWord word : request.getAdditions()) {
+            bulkRequest.add(new IndexRequest(ClusterDictionaryPublisher.INDEX)
+                    .id(ClusterDictionaryPublisher.ONLINE_WORD_ID_PREFIX + word.getWord())
+                    .source("type", "custom", "content", word.getWord() + " " + word.getNatureWithFrequency()));
+        }
+        ThreadContext threadContext = threadPool.getThreadContext();
+        Supplier<ThreadContext.StoredContext> restorable = threadContext.newRestorableContext(false);
+        try (ThreadContext.StoredContext ignore = threadContext.stashContext()) {
+            threadContext.markAsSystemContext();
+            client.bulk(bulkRequest, new ContextPreservingActionListener<>(restorable, ActionListener.wrap(response -> {
+                if (response.hasFailures()) {
+                    listener.onFailure(new IllegalStateException("can not store custom words into ["
+                            + ClusterDictionaryPublisher.INDEX + "]: " + response.buildFailureMessage()));
+                    return;
+                }
+                super.doExecute(task, request, listener);
+            }, listener::onFailure)));
+        }
+    }
+
+    @Override
+    protected CustomWordsResponse newResponse(CustomWordsRequest request, List<CustomWordsNodeResponse> responses,
+                                              List<FailedNodeException> failures) {
+        return new CustomWordsResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(CustomWordsRequest request) {
+        return new NodeRequest(request);
+    }
+
+    @Override
+    protected CustomWordsNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new CustomWordsNodeResponse(in);
+    }
+
+    @Override
+    protected CustomWordsNodeResponse nodeOperation(NodeRequest nodeRequest) {
+        CustomWordsRequest request = nodeRequest.request;
+        CustomWordOverlay overlay = CustomWordOverlay.getInstance();
+        for (String removal : request.getRemovals()) {
+            overlay.remove(removal);
+        }
+        for (CustomWord word : request.getAdditions()) {
+            overlay.add(word.getWord(), word.getNatureWithFrequency());
+        }
+        return new CustomWordsNodeResponse(clusterService.localNode(), request.getAdditions().size(), request.getRemovals().size(),
+                overlay.getAdditionSize(), overlay.getRemovalSize());
+    }
+
+    /**
+     * The request sent to every node.
+     */
+    public static class NodeRequest extends TransportRequest {
+
+        private final CustomWordsRequest request;
+
+        public NodeRequest(CustomWordsRequest request) {
+            this.request = request;
+        }
+
+        public NodeRequest(StreamInput in) throws IOException {
+            super(in);
+            this.request = new CustomWordsRequest(in);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            request.writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.plugin.analysis.hanlp.utils.CustomDictionaryUtils;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportRequest;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+
+/**
+ * Load the published cluster dictionary on every node.
+ *
+ * @author Rory Ye
+ */
+public class TransportPublishDictionaryAction extends TransportNodesAction<PublishDictionaryRequest, PublishDictionaryResponse,
+        TransportPublishDictionaryAction.NodeRequest, PublishDictionaryNodeResponse> {
+
+    @Inject
+    public TransportPublishDictionaryAction(ThreadPool threadPool, ClusterService clusterService, TransportService transportService,
+                                            ActionFilters actionFilters) {
+        super(PublishDictionaryAction.NAME, threadPool, clusterService, transportService, actionFilters,
+                PublishDictionaryRequest::new, NodeRequest::new, ThreadPool.Names.GENERIC, PublishDictionaryNodeResponse.class);
+    }
+
+    @Override
+    protected PublishDictionaryResponse newResponse(PublishDictionaryRequest request, List<PublishDictionaryNodeResponse> responses,
+                                                    List<FailedNodeException> failures) {
+        return new PublishDictionaryResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(PublishDictionaryRequest request) {
+        return new NodeRequest(request);
+    }
+
+    @Override
+    protected PublishDictionaryNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new PublishDictionaryNodeResponse(in);
+    }
+
+    @Override
+    protected PublishDictionaryNodeResponse nodeOperation(NodeRequest nodeRequest) {
+        PublishDictionaryRequest request = nodeRequest.request;
+        boolean applied = AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+                CustomDictionaryUtils.apply(request.getDictionary(), request.getTerm(), request.getVersion()));
+        return new PublishDictionaryNodeResponse(clusterService.localNode(), applied);
+    }
+
+    /**
+     * The request sent to every node.
+     */
+    public static class NodeRequest extends TransportRequest {
+
+        private final PublishDictionaryRequest request;
+
+        public NodeRequest(PublishDictionaryRequest request) {
+            this.request = request;
+        }
+
+        public NodeRequest(StreamInput in) throws IOException {
+            super(in);
+            this.request = new PublishDictionaryRequest(in);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            request.writeTo(out);
+        }
+    }
+}
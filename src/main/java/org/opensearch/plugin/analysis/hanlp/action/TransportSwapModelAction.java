@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.env.Environment;
+import org.opensearch.plugin.analysis.hanlp.AnalysisHanLPPlugin;
+import org.opensearch.plugin.analysis.hanlp.model.ModelRegistry;
+import org.opensearch.plugin.analysis.hanlp.model.PerceptronModelTool;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportRequest;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Load, validate and swap the model on every node, the model is loaded on the generic thread pool while the tokenizers
+ * keep using the model in use.
+ *
+ * @author Rory Ye
+ */
+public class TransportSwapModelAction extends TransportNodesAction<SwapModelRequest, SwapModelResponse,
+        TransportSwapModelAction.NodeRequest, SwapModelNodeResponse> {
+
+    private final Environment environment;
+
+    @Inject
+    public TransportSwapModelAction(ThreadPool threadPool, ClusterService clusterService, TransportService transportService,
+                                    ActionFilters actionFilters, Environment environment) {
+        super(SwapModelAction.NAME, threadPool, clusterService, transportService, actionFilters,
+                SwapModelRequest::new, NodeRequest::new, ThreadPool.Names.GENERIC, SwapModelNodeResponse.class);
+        this.environment = environment;
+    }
+
+    @Override
+    protected SwapModelResponse newResponse(SwapModelRequest request, List<SwapModelNodeResponse> responses,
+                                            List<FailedNodeException> failures) {
+        return new SwapModelResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(SwapModelRequest request) {
+        return new NodeRequest(request);
+    }
+
+    @Override
+    protected SwapModelNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new SwapModelNodeResponse(in);
+    }
+
+    @Override
+    protected SwapModelNodeResponse nodeOperation(NodeRequest nodeRequest) {
+        SwapModelRequest request = nodeRequest.request;
+        Path pluginDir = environment.pluginsFile().resolve(AnalysisHanLPPlugin.PLUGIN_NAME);
+        Path modelPath = pluginDir.resolve(request.getPath()).normalize();
+        // 与HanLP的数据一样，模型只能放在插件的data目录下
+        if (!modelPath.startsWith(pluginDir.resolve("data"))) {
+            throw new IllegalArgumentException("model path [" + request.getPath() + "] is out of " + pluginDir.resolve("data"));
+        }
+        ModelRegistry.SwapResult result;
+        try {
+            result = ModelRegistry.getInstance().swap(request.getModel(), modelPath.toString(), request.getMinScore());
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not load model [" + request.getModel().getName() + "] from [" + modelPath + "]", e);
+        }
+        PerceptronModelTool.Agreement currentScore = result.getCurrentScore();
+        return new SwapModelNodeResponse(clusterService.localNode(), result.isSwapped(), result.getGeneration(),
+                result.getScore().getRate(), currentScore == null ? null : currentScore.getRate(), result.getScore().getSentenceRate(),
+                result.getTook().millis());
+    }
+
+    /**
+     * The request sent to every node.
+     */
+    public static class NodeRequest extends TransportRequest {
+
+        private final SwapModelRequest request;
+
+        public NodeRequest(SwapModelRequest request) {
+            this.request = request;
+        }
+
+        public NodeRequest(StreamInput in) throws IOException {
+            super(in);
+            this.request = new SwapModelRequest(in);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            request.writeTo(out);
+        }
+    }
+}
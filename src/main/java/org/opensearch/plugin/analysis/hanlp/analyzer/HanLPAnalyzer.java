@@ -7,14 +7,11 @@
  */
 package org.opensearch.plugin.analysis.hanlp.analyzer;
 
-import com.hankcs.hanlp.HanLP;
-import com.hankcs.hanlp.seg.Segment;
 import org.apache.lucene.analysis.Analyzer;
 import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
 import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerBuilder;
-
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerType;
 
 /**
  * The hanLP default analyzer.
@@ -23,18 +20,15 @@ import java.security.PrivilegedAction;
  */
 public class HanLPAnalyzer extends Analyzer {
 
-    private final Configuration configuration;
+    private final SegmentTemplate template;
 
     public HanLPAnalyzer(Configuration configuration) {
         super();
-        this.configuration = configuration;
+        this.template = SegmentTemplate.of(TokenizerType.HANLP, configuration);
     }
 
     @Override
     protected TokenStreamComponents createComponents(String fieldName) {
-        return new Analyzer.TokenStreamComponents(TokenizerBuilder.tokenizer(
-                AccessController.doPrivileged(
-                        (PrivilegedAction<Segment>) HanLP::newSegment),
-                configuration));
+        return new Analyzer.TokenStreamComponents(TokenizerBuilder.tokenizer(template));
     }
 }
@@ -26,7 +26,7 @@ public class HanLPAnalyzerProvider extends AbstractIndexAnalyzerProvider<Analyze
 
     public HanLPAnalyzerProvider(IndexSettings indexSettings, Environment env, String name, Settings settings, TokenizerType tokenizerType) {
         super(indexSettings, name, settings);
-        Configuration configuration = new Configuration(env, settings);
+        Configuration configuration = new Configuration(env, settings, indexSettings.getIndex());
         switch (tokenizerType) {
             case HANLP:
                 analyzer = new HanLPAnalyzer(configuration);
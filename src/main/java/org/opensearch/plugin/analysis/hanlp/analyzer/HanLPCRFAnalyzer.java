@@ -7,17 +7,11 @@
  */
 package org.opensearch.plugin.analysis.hanlp.analyzer;
 
-import com.hankcs.hanlp.model.crf.CRFLexicalAnalyzer;
-import com.hankcs.hanlp.seg.Segment;
 import org.apache.lucene.analysis.Analyzer;
 import org.opensearch.plugin.analysis.hanlp.config.Configuration;
-import org.opensearch.plugin.analysis.hanlp.model.CRFNERecognizerInstance;
-import org.opensearch.plugin.analysis.hanlp.model.CRFPOSTaggerInstance;
-import org.opensearch.plugin.analysis.hanlp.model.CRFSegmenterInstance;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
 import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerBuilder;
-
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerType;
 
 /**
  * The hanLP CRF analyzer.
@@ -26,42 +20,15 @@ import java.security.PrivilegedAction;
  */
 public class HanLPCRFAnalyzer extends Analyzer {
 
-    private final Configuration configuration;
+    private final SegmentTemplate template;
 
     public HanLPCRFAnalyzer(Configuration configuration) {
         super();
-        this.configuration = configuration;
+        this.template = SegmentTemplate.of(TokenizerType.CRF, configuration);
     }
 
     @Override
     protected TokenStreamComponents createComponents(String fieldName) {
-        if (CRFPOSTaggerInstance.getInstance().getTagger() == null) {
-            return new TokenStreamComponents(
-                    TokenizerBuilder.tokenizer(
-                            AccessController.doPrivileged((PrivilegedAction<Segment>) () ->
-                                    new CRFLexicalAnalyzer(
-                                            CRFSegmenterInstance.getInstance().getSegmenter()
-                                    )),
-                            configuration));
-        } else if (CRFNERecognizerInstance.getInstance().getRecognizer() == null) {
-            return new TokenStreamComponents(
-                    TokenizerBuilder.tokenizer(
-                            AccessController.doPrivileged((PrivilegedAction<Segment>) () ->
-                                    new CRFLexicalAnalyzer(
-                                            CRFSegmenterInstance.getInstance().getSegmenter(),
-                                            CRFPOSTaggerInstance.getInstance().getTagger()
-                                    )),
-                            configuration));
-        } else {
-            return new TokenStreamComponents(
-                    TokenizerBuilder.tokenizer(
-                            AccessController.doPrivileged((PrivilegedAction<Segment>) () ->
-                                    new CRFLexicalAnalyzer(
-                                            CRFSegmenterInstance.getInstance().getSegmenter(),
-                                            CRFPOSTaggerInstance.getInstance().getTagger(),
-                                            CRFNERecognizerInstance.getInstance().getRecognizer()
-                                    )),
-                            configuration));
-        }
+        return new Analyzer.TokenStreamComponents(TokenizerBuilder.tokenizer(template));
     }
 }
@@ -7,14 +7,11 @@
  */
 package org.opensearch.plugin.analysis.hanlp.analyzer;
 
-import com.hankcs.hanlp.HanLP;
-import com.hankcs.hanlp.seg.Segment;
 import org.apache.lucene.analysis.Analyzer;
 import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
 import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerBuilder;
-
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerType;
 
 /**
  * The index analyzer.
@@ -23,24 +20,15 @@ import java.security.PrivilegedAction;
  */
 public class HanLPIndexAnalyzer extends Analyzer {
 
-    private final Configuration configuration;
+    private final SegmentTemplate template;
 
     public HanLPIndexAnalyzer(Configuration configuration) {
         super();
-        this.configuration = configuration;
-        enableConfiguration();
+        this.template = SegmentTemplate.of(TokenizerType.INDEX, configuration);
     }
 
     @Override
     protected TokenStreamComponents createComponents(String fieldName) {
-        return new Analyzer.TokenStreamComponents(
-                TokenizerBuilder.tokenizer(
-                        AccessController.doPrivileged(
-                                (PrivilegedAction<Segment>) () -> HanLP.newSegment().enableIndexMode(true)),
-                        configuration));
-    }
-
-    private void enableConfiguration() {
-        this.configuration.enableIndexMode(true);
+        return new Analyzer.TokenStreamComponents(TokenizerBuilder.tokenizer(template));
     }
 }
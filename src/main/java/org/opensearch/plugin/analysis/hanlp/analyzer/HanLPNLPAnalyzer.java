@@ -7,17 +7,11 @@
  */
 package org.opensearch.plugin.analysis.hanlp.analyzer;
 
-import com.hankcs.hanlp.model.perceptron.PerceptronLexicalAnalyzer;
-import com.hankcs.hanlp.seg.Segment;
 import org.apache.lucene.analysis.Analyzer;
 import org.opensearch.plugin.analysis.hanlp.config.Configuration;
-import org.opensearch.plugin.analysis.hanlp.model.PerceptronCWSInstance;
-import org.opensearch.plugin.analysis.hanlp.model.PerceptronNERInstance;
-import org.opensearch.plugin.analysis.hanlp.model.PerceptronPOSInstance;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
 import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerBuilder;
-
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerType;
 
 /**
  * The NLP analyzer.
@@ -26,23 +20,15 @@ import java.security.PrivilegedAction;
  */
 public class HanLPNLPAnalyzer extends Analyzer {
 
-    private final Configuration configuration;
+    private final SegmentTemplate template;
 
     public HanLPNLPAnalyzer(Configuration configuration) {
         super();
-        this.configuration = configuration;
+        this.template = SegmentTemplate.of(TokenizerType.NLP, configuration);
     }
 
     @Override
     protected TokenStreamComponents createComponents(String fieldName) {
-        return new Analyzer.TokenStreamComponents(
-                TokenizerBuilder.tokenizer(
-                        AccessController.doPrivileged((PrivilegedAction<Segment>) () ->
-                                new PerceptronLexicalAnalyzer(
-                                        PerceptronCWSInstance.getInstance().getLinearModel(),
-                                        PerceptronPOSInstance.getInstance().getLinearModel(),
-                                        PerceptronNERInstance.getInstance().getLinearModel()
-                                )),
-                        configuration));
+        return new Analyzer.TokenStreamComponents(TokenizerBuilder.tokenizer(template));
     }
 }
@@ -7,14 +7,11 @@
  */
 package org.opensearch.plugin.analysis.hanlp.analyzer;
 
-import com.hankcs.hanlp.seg.NShort.NShortSegment;
-import com.hankcs.hanlp.seg.Segment;
 import org.apache.lucene.analysis.Analyzer;
 import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
 import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerBuilder;
-
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerType;
 
 /**
  * The n-shortest path analyzer.
@@ -23,27 +20,15 @@ import java.security.PrivilegedAction;
  */
 public class HanLPNShortAnalyzer extends Analyzer {
 
-    private final Configuration configuration;
+    private final SegmentTemplate template;
 
     public HanLPNShortAnalyzer(Configuration configuration) {
         super();
-        this.configuration = configuration;
-        enableConfiguration();
+        this.template = SegmentTemplate.of(TokenizerType.N_SHORT, configuration);
     }
+
     @Override
     protected TokenStreamComponents createComponents(String fieldName) {
-        return new Analyzer.TokenStreamComponents(TokenizerBuilder.tokenizer(
-                AccessController.doPrivileged(
-                        (PrivilegedAction<Segment>) () -> new NShortSegment()
-                                .enableCustomDictionary(false)
-                                .enablePlaceRecognize(true)
-                                .enableOrganizationRecognize(true)),
-                configuration));
-    }
-
-    private void enableConfiguration() {
-        this.configuration.enableCustomDictionary(false)
-                .enablePlaceRecognize(true)
-                .enableOrganizationRecognize(true);
+        return new Analyzer.TokenStreamComponents(TokenizerBuilder.tokenizer(template));
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.charfilter;
+
+import org.apache.lucene.analysis.charfilter.MappingCharFilter;
+import org.apache.lucene.analysis.charfilter.NormalizeCharMap;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.env.Environment;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.analysis.AbstractCharFilterFactory;
+import org.opensearch.index.analysis.NormalizingCharFilterFactory;
+import org.opensearch.plugin.analysis.hanlp.dictionary.ConversionDictionary;
+
+import java.io.Reader;
+
+/**
+ * The char filter converting between traditional and simplified Chinese with the {@code tc} dictionary.
+ * <p>
+ * The text is converted while it is read, matching the longest phrase of the dictionary with a bounded look ahead,
+ * and the offsets of the converted phrases whose length changes are corrected, so it can be put in front of any
+ * tokenizer or normalizer.
+ *
+ * @author Rory Ye
+ */
+public class HanLPConversionCharFilterFactory extends AbstractCharFilterFactory implements NormalizingCharFilterFactory {
+
+    /**
+     * 所有索引共享的最长匹配自动机
+     */
+    private final NormalizeCharMap charMap;
+
+    public HanLPConversionCharFilterFactory(IndexSettings indexSettings, String name, ConversionDictionary dictionary) {
+        super(indexSettings, name);
+        this.charMap = dictionary.getCharMap();
+    }
+
+    public static HanLPConversionCharFilterFactory getT2SCharFilterFactory(IndexSettings indexSettings, Environment env, String name,
+                                                                           Settings settings) {
+        return new HanLPConversionCharFilterFactory(indexSettings, name, ConversionDictionary.traditionalToSimplified());
+    }
+
+    public static HanLPConversionCharFilterFactory getS2TCharFilterFactory(IndexSettings indexSettings, Environment env, String name,
+                                                                           Settings settings) {
+        return new HanLPConversionCharFilterFactory(indexSettings, name, ConversionDictionary.simplifiedToTraditional());
+    }
+
+    @Override
+    public Reader create(Reader reader) {
+        return new MappingCharFilter(charMap, reader);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.charfilter;
+
+import com.hankcs.hanlp.dictionary.other.CharTable;
+import org.apache.lucene.analysis.CharFilter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+/**
+ * Normalize the chars with the HanLP {@link CharTable} while they are read: full width to half width, upper case to
+ * lower case and traditional to simplified for single chars. Every char is mapped to exactly one char through a
+ * primitive table of all the 64K chars, so the offsets need no correction and nothing is allocated per read.
+ *
+ * @author Rory Ye
+ */
+public class HanLPNormalizeCharFilter extends CharFilter {
+
+    private static volatile char[] table = null;
+
+    /**
+     * The normalization table, loaded once from {@code CharTable.txt.bin} by HanLP.
+     *
+     * @return the table indexed by the char
+     */
+    static char[] getTable() {
+        if (table == null) {
+            synchronized (HanLPNormalizeCharFilter.class) {
+                if (table == null) {//二次检查
+                    table = AccessController.doPrivileged((PrivilegedAction<char[]>) () -> CharTable.CONVERT);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Normalize the chars in place.
+     *
+     * @param text   the chars
+     * @param offset the start
+     * @param length the number of chars
+     */
+    public static void normalize(char[] text, int offset, int length) {
+        char[] table = getTable();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            text[i] = table[text[i]];
+        }
+    }
+
+    private final char[] normalizationTable = getTable();
+
+    public HanLPNormalizeCharFilter(Reader input) {
+        super(input);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        int n = input.read(cbuf, off, len);
+        for (int i = off, end = off + n; i < end; i++) {
+            cbuf[i] = normalizationTable[cbuf[i]];
+        }
+        return n;
+    }
+
+    @Override
+    protected int correct(int currentOff) {
+        return currentOff;
+    }
+}
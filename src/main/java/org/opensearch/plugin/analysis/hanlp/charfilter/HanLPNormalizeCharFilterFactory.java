@@ -0,0 +1,35 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.charfilter;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.env.Environment;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.analysis.AbstractCharFilterFactory;
+import org.opensearch.index.analysis.NormalizingCharFilterFactory;
+
+import java.io.Reader;
+
+/**
+ * The char filter of the HanLP normalization, see {@link HanLPNormalizeCharFilter}.
+ *
+ * @author Rory Ye
+ */
+public class HanLPNormalizeCharFilterFactory extends AbstractCharFilterFactory implements NormalizingCharFilterFactory {
+
+    public HanLPNormalizeCharFilterFactory(IndexSettings indexSettings, Environment env, String name, Settings settings) {
+        super(indexSettings, name);
+        // 创建索引时加载字符表
+        HanLPNormalizeCharFilter.getTable();
+    }
+
+    @Override
+    public Reader create(Reader reader) {
+        return new HanLPNormalizeCharFilter(reader);
+    }
+}
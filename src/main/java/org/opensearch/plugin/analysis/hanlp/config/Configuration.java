@@ -7,11 +7,16 @@
  */
 package org.opensearch.plugin.analysis.hanlp.config;
 
+import com.hankcs.hanlp.dictionary.DynamicCustomDictionary;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.env.Environment;
+import org.opensearch.index.Index;
+import org.opensearch.plugin.analysis.hanlp.dictionary.CustomDictionaryRegistry;
 import org.opensearch.plugin.analysis.hanlp.dictionary.Dictionary;
 
+import java.util.List;
+
 /**
  * The configuration for hanLP.
  *
@@ -23,6 +28,11 @@ public class Configuration {
 
     private final Settings settings;
 
+    /**
+     * 所属的索引，ingest处理器等不属于索引时为空
+     */
+    private final Index index;
+
     private boolean enablePorterStemming;
 
     private boolean enableIndexMode;
@@ -43,6 +53,8 @@ public class Configuration {
 
     private boolean enableTraditionalChineseMode;
 
+    private boolean enableTraditionalChineseSurfaceForm;
+
     private boolean enableStopDictionary;
 
     private boolean enablePartOfSpeechTagging;
@@ -55,6 +67,20 @@ public class Configuration {
 
     private boolean enableCustomConfig;
 
+    private boolean enableLatinFastPath;
+
+    private boolean enableNaturePayload;
+
+    /**
+     * 冻结后不可再修改，可在多个线程间共享
+     */
+    private boolean frozen;
+
+    /**
+     * 索引自己的自定义词典，为空时使用全局词典
+     */
+    private final DynamicCustomDictionary customDictionary;
+
     /**
      * The plugin's configuration.
      *
@@ -63,8 +89,20 @@ public class Configuration {
      */
     @Inject
     public Configuration(Environment env, Settings settings) {
+        this(env, settings, null);
+    }
+
+    /**
+     * The configuration of the analysis components of an index.
+     *
+     * @param env the opensearch environment
+     * @param settings the analysis component settings
+     * @param index the index, which holds the dictionaries of {@code custom_dictionary_paths}
+     */
+    public Configuration(Environment env, Settings settings, Index index) {
         this.environment = env;
         this.settings = settings;
+        this.index = index;
         this.enablePorterStemming = settings.get("enable_porter_stemming", "false").equals("true");
         this.enableIndexMode = settings.get("enable_index_mode", "false").equals("true");
         this.enableNumberQuantifierRecognize = settings.get("enable_number_quantifier_recognize", "false").equals("true");
@@ -75,13 +113,20 @@ public class Configuration {
         this.enablePlaceRecognize = settings.get("enable_place_recognize", "false").equals("true");
         this.enableNameRecognize = settings.get("enable_name_recognize", "true").equals("true");
         this.enableTraditionalChineseMode = settings.get("enable_traditional_chinese_mode", "false").equals("true");
+        this.enableTraditionalChineseSurfaceForm = settings.get("enable_traditional_chinese_surface_form", "false").equals("true");
         this.enableStopDictionary = settings.get("enable_stop_dictionary", "false").equals("true");
         this.enablePartOfSpeechTagging = settings.get("enable_part_of_speech_tagging", "false").equals("true");
         this.enableRemoteDict = settings.get("enable_remote_dict", "true").equals("true");
         this.enableNormalization = settings.get("enable_normalization", "false").equals("true");
         this.enableOffset = settings.get("enable_offset", "true").equals("true");
         this.enableCustomConfig = settings.get("enable_custom_config", "false").equals("true");
+        this.enableLatinFastPath = settings.get("enable_latin_fast_path", "false").equals("true");
+        this.enableNaturePayload = settings.get("enable_nature_payload", "false").equals("true");
         Dictionary.initial(this);
+        List<String> customDictionaryPaths = settings.getAsList("custom_dictionary_paths");
+        this.customDictionary = customDictionaryPaths.isEmpty()
+                ? null
+                : CustomDictionaryRegistry.getInstance().acquire(index, env, customDictionaryPaths);
     }
 
     public Environment getEnvironment() {
@@ -92,11 +137,16 @@ public class Configuration {
         return this.settings;
     }
 
+    public Index getIndex() {
+        return this.index;
+    }
+
     public boolean isEnablePorterStemming() {
         return this.enablePorterStemming;
     }
 
     public Configuration enablePorterStemming(boolean enablePorterStemming) {
+        ensureNotFrozen();
         this.enablePorterStemming = enablePorterStemming;
         return this;
     }
@@ -112,6 +162,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableIndexMode(boolean enableIndexMode) {
+        ensureNotFrozen();
         this.enableIndexMode = enableIndexMode;
         return this;
     }
@@ -127,6 +178,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableNumberQuantifierRecognize(boolean enableNumberQuantifierRecognize) {
+        ensureNotFrozen();
         this.enableNumberQuantifierRecognize = enableNumberQuantifierRecognize;
         return this;
     }
@@ -142,6 +194,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableCustomDictionary(boolean enableCustomDictionary) {
+        ensureNotFrozen();
         this.enableCustomDictionary = enableCustomDictionary;
         return this;
     }
@@ -151,6 +204,7 @@ public class Configuration {
     }
 
     public Configuration enableTranslatedNameRecognize(boolean enableTranslatedNameRecognize) {
+        ensureNotFrozen();
         this.enableTranslatedNameRecognize = enableTranslatedNameRecognize;
         return this;
     }
@@ -166,6 +220,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableJapaneseNameRecognize(boolean enableJapaneseNameRecognize) {
+        ensureNotFrozen();
         this.enableJapaneseNameRecognize = enableJapaneseNameRecognize;
         return this;
     }
@@ -181,6 +236,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableOrganizationRecognize(boolean enableOrganizationRecognize) {
+        ensureNotFrozen();
         this.enableOrganizationRecognize = enableOrganizationRecognize;
         return this;
     }
@@ -196,6 +252,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enablePlaceRecognize(boolean enablePlaceRecognize) {
+        ensureNotFrozen();
         this.enablePlaceRecognize = enablePlaceRecognize;
         return this;
     }
@@ -211,6 +268,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableNameRecognize(boolean enableNameRecognize) {
+        ensureNotFrozen();
         this.enableNameRecognize = enableNameRecognize;
         return this;
     }
@@ -226,10 +284,28 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableTraditionalChineseMode(boolean enableTraditionalChineseMode) {
+        ensureNotFrozen();
         this.enableTraditionalChineseMode = enableTraditionalChineseMode;
         return this;
     }
 
+    public boolean isEnableTraditionalChineseSurfaceForm() {
+        return this.enableTraditionalChineseSurfaceForm;
+    }
+
+    /**
+     * Emit the terms in the chars of the original text instead of the simplified chars in traditional chinese mode,
+     * the offset must be enabled.
+     *
+     * @param enableTraditionalChineseSurfaceForm enable or not
+     * @return configuration instance
+     */
+    public Configuration enableTraditionalChineseSurfaceForm(boolean enableTraditionalChineseSurfaceForm) {
+        ensureNotFrozen();
+        this.enableTraditionalChineseSurfaceForm = enableTraditionalChineseSurfaceForm;
+        return this;
+    }
+
     public boolean isEnableStopDictionary() {
         return this.enableStopDictionary;
     }
@@ -241,6 +317,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableStopDictionary(boolean enableStopDictionary) {
+        ensureNotFrozen();
         this.enableStopDictionary = enableStopDictionary;
         return this;
     }
@@ -256,6 +333,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enablePartOfSpeechTagging(boolean enablePartOfSpeechTagging) {
+        ensureNotFrozen();
         this.enablePartOfSpeechTagging = enablePartOfSpeechTagging;
         return this;
     }
@@ -271,6 +349,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableRemoteDict(boolean enableRemoteDict) {
+        ensureNotFrozen();
         this.enableRemoteDict = enableRemoteDict;
         return this;
     }
@@ -286,6 +365,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableNormalization(boolean enableNormalization) {
+        ensureNotFrozen();
         this.enableNormalization = enableNormalization;
         return this;
     }
@@ -301,6 +381,7 @@ public class Configuration {
      * @return configuration instance
      */
     public Configuration enableOffset(boolean enableOffset) {
+        ensureNotFrozen();
         this.enableOffset = enableOffset;
         return this;
     }
@@ -310,7 +391,92 @@ public class Configuration {
     }
 
     public Configuration enableCustomConfig(boolean enableCustomConfig) {
+        ensureNotFrozen();
         this.enableCustomConfig = enableCustomConfig;
         return this;
     }
+
+    public boolean isEnableLatinFastPath() {
+        return enableLatinFastPath;
+    }
+
+    /**
+     * Enable the fast path which tokenizes the runs without CJK chars without HanLP.
+     *
+     * @param enableLatinFastPath enable or not
+     * @return configuration instance
+     */
+    public Configuration enableLatinFastPath(boolean enableLatinFastPath) {
+        ensureNotFrozen();
+        this.enableLatinFastPath = enableLatinFastPath;
+        return this;
+    }
+
+    public boolean isEnableNaturePayload() {
+        return enableNaturePayload;
+    }
+
+    /**
+     * Store the nature of every token as its payload, the stable {@code NaturePayload} id of a built-in nature or the
+     * name of a custom one, the part of speech tagging is enabled too.
+     *
+     * @param enableNaturePayload enable or not
+     * @return configuration instance
+     */
+    public Configuration enableNaturePayload(boolean enableNaturePayload) {
+        ensureNotFrozen();
+        this.enableNaturePayload = enableNaturePayload;
+        return this;
+    }
+
+    /**
+     * Freeze the configuration, it can not be changed any more and is safe to share between threads.
+     *
+     * @return configuration instance
+     */
+    public Configuration freeze() {
+        this.frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void ensureNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("the configuration is frozen");
+        }
+    }
+
+    /**
+     * Whether the part of speech of the terms is used, by the {@code TypeAttribute}, the porter stemming, the stop
+     * dictionary or the named entity recognition. Without custom config the segments keep their own defaults, so the
+     * part of speech is always needed.
+     *
+     * @return needed or not
+     */
+    public boolean isPartOfSpeechTaggingNeeded() {
+        return !enableCustomConfig || enablePartOfSpeechTagging || enablePorterStemming || enableStopDictionary
+                || enableNaturePayload || isNamedEntityRecognitionNeeded();
+    }
+
+    /**
+     * Whether any named entity recognition is enabled.
+     *
+     * @return needed or not
+     */
+    public boolean isNamedEntityRecognitionNeeded() {
+        return !enableCustomConfig || enableNameRecognize || enableTranslatedNameRecognize || enableJapaneseNameRecognize
+                || enablePlaceRecognize || enableOrganizationRecognize;
+    }
+
+    /**
+     * The custom dictionary of the index configured with {@code custom_dictionary_paths}.
+     *
+     * @return the dictionary, or {@code null} to use the global custom dictionary
+     */
+    public DynamicCustomDictionary getCustomDictionary() {
+        return customDictionary;
+    }
 }
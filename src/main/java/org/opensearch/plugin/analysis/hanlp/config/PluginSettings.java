@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.config;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.plugin.analysis.hanlp.model.ModelFormat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The node settings of the plugin.
+ *
+ * @author Rory Ye
+ */
+public class PluginSettings {
+
+    /**
+     * The interval the elected cluster manager checks the dictionary index for changes.
+     */
+    public static final Setting<TimeValue> CLUSTER_DICTIONARY_SYNC_INTERVAL = Setting.timeSetting(
+            "hanlp.dictionary.cluster.sync_interval", TimeValue.timeValueSeconds(30), TimeValue.timeValueSeconds(1),
+            Setting.Property.NodeScope);
+
+    /**
+     * The models and dictionaries preloaded in the background at node start, like {@code perceptron_cws}, or
+     * {@code all} for every resource configured in {@code hanlp.properties}.
+     */
+    public static final Setting<List<String>> PRELOAD_RESOURCES = Setting.listSetting(
+            "hanlp.preload.resources", Collections.emptyList(), Function.identity(), Setting.Property.NodeScope);
+
+    /**
+     * The size of the bounded pool loading the preload resources concurrently.
+     */
+    public static final Setting<Integer> PRELOAD_THREADS = Setting.intSetting(
+            "hanlp.preload.threads", Math.min(4, Runtime.getRuntime().availableProcessors()), 1, Setting.Property.NodeScope);
+
+    /**
+     * The segmentation passes over the warm-up texts after a resource is preloaded, 0 disables the warm-up.
+     */
+    public static final Setting<Integer> PRELOAD_WARM_UP_ITERATIONS = Setting.intSetting(
+            "hanlp.preload.warm_up_iterations", 100, 0, Setting.Property.NodeScope);
+
+    /**
+     * The runtime format of the perceptron models, {@code default}, {@code mmap} or {@code int8}.
+     */
+    public static final Setting<ModelFormat> MODEL_FORMAT = new Setting<>(
+            "hanlp.model.format", ModelFormat.DEFAULT.getName(), ModelFormat::fromName, Setting.Property.NodeScope);
+
+    private PluginSettings() {
+    }
+
+    public static List<Setting<?>> getSettings() {
+        return Arrays.asList(
+                CLUSTER_DICTIONARY_SYNC_INTERVAL,
+                PRELOAD_RESOURCES,
+                PRELOAD_THREADS,
+                PRELOAD_WARM_UP_ITERATIONS,
+                MODEL_FORMAT
+        );
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.dictionary;
+
+import com.hankcs.hanlp.collection.trie.DoubleArrayTrie;
+import com.hankcs.hanlp.corpus.io.ByteArray;
+import com.hankcs.hanlp.corpus.tag.Nature;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import com.hankcs.hanlp.utility.LexiconUtility;
+import com.hankcs.hanlp.utility.Predefine;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The compiled dictionary built once by the elected cluster manager and published to all nodes.
+ * <p>
+ * The words are kept in their serialized form, the nature of a word is stored by name instead of ordinal since the
+ * ordinals of custom natures differ from node to node. The double array trie is stored exactly as
+ * {@link DoubleArrayTrie#save(DataOutputStream)} writes it, so a node only loads the arrays instead of building them.
+ * <p>
+ * The dictionaries are ordered by the cluster manager term they are built in, then by the version the cluster manager
+ * gives them in that term, so a node never replaces a dictionary with one built earlier, whichever arrives last.
+ *
+ * @author Rory Ye
+ */
+public class ClusterDictionary implements Writeable {
+
+    private final String signature;
+
+    /**
+     * 构建时的集群主节点任期
+     */
+    private final long term;
+
+    /**
+     * 同一任期内单调递增的版本
+     */
+    private final long version;
+
+    private final byte[] words;
+
+    private final byte[] trie;
+
+    private final List<String> stopWords;
+
+    private ClusterDictionary(String signature, long term, long version, byte[] words, byte[] trie, List<String> stopWords) {
+        this.signature = signature;
+        this.term = term;
+        this.version = version;
+        this.words = words;
+        this.trie = trie;
+        this.stopWords = stopWords;
+    }
+
+    public ClusterDictionary(StreamInput in) throws IOException {
+        this.signature = in.readString();
+        this.term = in.readVLong();
+        this.version = in.readVLong();
+        this.words = in.readByteArray();
+        this.trie = in.readByteArray();
+        this.stopWords = in.readStringList();
+    }
+
+    /**
+     * Compile the dictionary.
+     *
+     * @param signature the signature of the dictionary sources
+     * @param term      the term of the cluster manager
+     * @param version   the version of the dictionary in the term
+     * @param map       the custom words
+     * @param stopWords the stop words
+     * @return the compiled dictionary
+     * @throws IOException if can not serialize the dictionary
+     */
+    public static ClusterDictionary build(String signature, long term, long version, TreeMap<String, CoreDictionary.Attribute> map,
+                                          Collection<String> stopWords) throws IOException {
+        if (map.isEmpty()) {
+            // 当作空白占位符
+            map.put(Predefine.TAG_OTHER, null);
+        }
+        Map<String, Integer> natureIndex = new HashMap<>();
+        List<String> natures = new ArrayList<>();
+        for (CoreDictionary.Attribute attribute : map.values()) {
+            if (attribute == null) {
+                continue;
+            }
+            for (Nature nature : attribute.nature) {
+                natureIndex.computeIfAbsent(nature.toString(), name -> {
+                    natures.add(name);
+                    return natures.size() - 1;
+                });
+            }
+        }
+        ByteArrayOutputStream wordBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(wordBytes);
+        out.writeInt(natures.size());
+        for (String nature : natures) {
+            out.writeUTF(nature);
+        }
+        out.writeInt(map.size());
+        for (Map.Entry<String, CoreDictionary.Attribute> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            CoreDictionary.Attribute attribute = entry.getValue();
+            if (attribute == null) {
+                out.writeInt(-1);
+                continue;
+            }
+            out.writeInt(attribute.nature.length);
+            for (int i = 0; i < attribute.nature.length; i++) {
+                out.writeInt(natureIndex.get(attribute.nature[i].toString()));
+                out.writeInt(attribute.frequency[i]);
+            }
+        }
+        out.close();
+
+        DoubleArrayTrie<CoreDictionary.Attribute> dat = new DoubleArrayTrie<>();
+        dat.build(map);
+        ByteArrayOutputStream trieBytes = new ByteArrayOutputStream();
+        out = new DataOutputStream(trieBytes);
+        dat.save(out);
+        out.close();
+        return new ClusterDictionary(signature, term, version, wordBytes.toByteArray(), trieBytes.toByteArray(), new ArrayList<>(stopWords));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(signature);
+        out.writeVLong(term);
+        out.writeVLong(version);
+        out.writeByteArray(words);
+        out.writeByteArray(trie);
+        out.writeStringCollection(stopWords);
+    }
+
+    /**
+     * Load the words into the map, used when the words have to be merged with the online custom words.
+     *
+     * @param map                   the words
+     * @param customNatureCollector the custom natures
+     * @throws IOException if the dictionary is broken
+     */
+    public void loadWords(TreeMap<String, CoreDictionary.Attribute> map, LinkedHashSet<Nature> customNatureCollector) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(words))) {
+            Nature[] natures = readNatures(in, customNatureCollector);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                String word = in.readUTF();
+                CoreDictionary.Attribute attribute = readAttribute(in, natures);
+                if (attribute != null) {
+                    map.put(word, attribute);
+                }
+            }
+        }
+    }
+
+    /**
+     * Load the compiled double array trie.
+     *
+     * @return the trie
+     * @throws IOException if the dictionary is broken
+     */
+    public DoubleArrayTrie<CoreDictionary.Attribute> loadTrie() throws IOException {
+        CoreDictionary.Attribute[] attributes;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(words))) {
+            Nature[] natures = readNatures(in, null);
+            int size = in.readInt();
+            attributes = new CoreDictionary.Attribute[size];
+            for (int i = 0; i < size; i++) {
+                in.readUTF();
+                attributes[i] = readAttribute(in, natures);
+            }
+        }
+        DoubleArrayTrie<CoreDictionary.Attribute> dat = new DoubleArrayTrie<>();
+        if (!dat.load(new ByteArray(trie), attributes)) {
+            throw new IOException("can not load double array trie of cluster dictionary [" + signature + "]");
+        }
+        return dat;
+    }
+
+    private static Nature[] readNatures(DataInputStream in, LinkedHashSet<Nature> customNatureCollector) throws IOException {
+        Nature[] natures = new Nature[in.readInt()];
+        for (int i = 0; i < natures.length; i++) {
+            String name = in.readUTF();
+            natures[i] = customNatureCollector == null
+                    ? LexiconUtility.convertStringToNature(name)
+                    : LexiconUtility.convertStringToNature(name, customNatureCollector);
+        }
+        return natures;
+    }
+
+    private static CoreDictionary.Attribute readAttribute(DataInputStream in, Nature[] natures) throws IOException {
+        int natureCount = in.readInt();
+        if (natureCount < 0) {
+            return null;
+        }
+        CoreDictionary.Attribute attribute = new CoreDictionary.Attribute(natureCount);
+        for (int i = 0; i < natureCount; i++) {
+            attribute.nature[i] = natures[in.readInt()];
+            attribute.frequency[i] = in.readInt();
+            attribute.totalFrequency += attribute.frequency[i];
+        }
+        return attribute;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public long getTerm() {
+        return term;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Compare two dictionary versions, by term first.
+     *
+     * @param term         the term
+     * @param version      the version in the term
+     * @param otherTerm    the other term
+     * @param otherVersion the other version in the term
+     * @return negative, zero or positive if the first is older, the same or newer
+     */
+    public static int compareVersions(long term, long version, long otherTerm, long otherVersion) {
+        int compare = Long.compare(term, otherTerm);
+        return compare != 0 ? compare : Long.compare(version, otherVersion);
+    }
+
+    public List<String> getStopWords() {
+        return stopWords;
+    }
+
+    /**
+     * The serialized size of the dictionary.
+     *
+     * @return size in bytes
+     */
+    public long getSizeInBytes() {
+        return (long) words.length + trie.length;
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.dictionary;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.corpus.tag.Nature;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import com.hankcs.hanlp.dictionary.other.CharTable;
+import com.hankcs.hanlp.utility.LexiconUtility;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.stats.IndicesStatsRequest;
+import org.opensearch.action.admin.indices.stats.IndicesStatsResponse;
+import org.opensearch.action.admin.indices.stats.ShardStats;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.plugin.analysis.hanlp.action.PublishDictionaryAction;
+import org.opensearch.plugin.analysis.hanlp.action.PublishDictionaryRequest;
+import org.opensearch.plugin.analysis.hanlp.action.PublishDictionaryResponse;
+import org.opensearch.plugin.analysis.hanlp.config.PluginSettings;
+import org.opensearch.plugin.analysis.hanlp.utils.CustomDictionaryUtils;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Build the cluster dictionary from the sources stored in the {@value #INDEX} system index and publish it to all nodes.
+ * <p>
+ * Only the elected cluster manager builds the dictionary: it checks the index for changes periodically, compiles the
+ * configured custom dictionary files together with all sources of the index into one {@link ClusterDictionary} and
+ * publishes it to every node, nodes joining later receive the last published dictionary. A source document looks like:
+ * <pre>
+ * {
+ *   "type": "custom",
+ *   "nature": "nz",
+ *   "content": "word1 nz 1000\nword2"
+ * }
+ * </pre>
+ * The {@code type} is either {@code custom} or {@code stop}, the {@code content} has the same format as the dictionary
+ * files, and {@code nature} is the default nature of the words without nature. The online custom words are stored as
+ * one source per word with the id {@value #ONLINE_WORD_ID_PREFIX}{@code <word>}, of type {@code custom} when added and
+ * of type {@code remove} when removed, the removed words are removed from all the other sources.
+ * <p>
+ * Every publication carries the cluster manager term and a version increasing within the term, the nodes ignore the
+ * publications older than the one they applied, so the publication to a joining node can not overtake a newer one.
+ *
+ * @author Rory Ye
+ */
+public class ClusterDictionaryPublisher implements ClusterStateListener {
+
+    private static final Logger logger = LogManager.getLogger(ClusterDictionaryPublisher.class);
+
+    /**
+     * 词典系统索引
+     */
+    public static final String INDEX = ".hanlp-dictionary";
+
+    /**
+     * 在线词条的文档id前缀
+     */
+    public static final String ONLINE_WORD_ID_PREFIX = "online-word-";
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    private final ThreadPool threadPool;
+
+    private final TimeValue interval;
+
+    private volatile Scheduler.Cancellable task;
+
+    private volatile boolean clusterManager = false;
+
+    /**
+     * 最近一次发布的词典
+     */
+    private volatile ClusterDictionary published;
+
+    /**
+     * 本任期内的发布版本
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    public ClusterDictionaryPublisher(Client client, ClusterService clusterService, ThreadPool threadPool) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.interval = PluginSettings.CLUSTER_DICTIONARY_SYNC_INTERVAL.get(clusterService.getSettings());
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        boolean localNodeClusterManager = event.localNodeClusterManager();
+        if (localNodeClusterManager && !clusterManager) {
+            clusterManager = true;
+            logger.info("local node is elected, begin sync hanlp cluster dictionary every [{}]", interval);
+            task = threadPool.scheduleWithFixedDelay(this::sync, interval, ThreadPool.Names.GENERIC);
+        } else if (!localNodeClusterManager && clusterManager) {
+            clusterManager = false;
+            published = null;
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+        }
+        ClusterDictionary dictionary = published;
+        if (clusterManager && dictionary != null && event.nodesAdded()) {
+            List<DiscoveryNode> addedNodes = event.nodesDelta().addedNodes();
+            String[] nodeIds = new String[addedNodes.size()];
+            for (int i = 0; i < nodeIds.length; i++) {
+                nodeIds[i] = addedNodes.get(i).getId();
+            }
+            publish(dictionary, dictionary.getTerm(), dictionary.getVersion(), nodeIds);
+        }
+    }
+
+    private void sync() {
+        ThreadContext threadContext = threadPool.getThreadContext();
+        try (ThreadContext.StoredContext ignore = threadContext.stashContext()) {
+            threadContext.markAsSystemContext();
+            ClusterDictionary last = published;
+            if (!clusterService.state().metadata().hasIndex(INDEX)) {
+                if (last != null) {
+                    logger.info("hanlp dictionary index [{}] is removed, publish local dictionary files", INDEX);
+                    published = null;
+                    publish(null, clusterService.state().term(), version.incrementAndGet());
+                }
+                return;
+            }
+            ClusterState state = clusterService.state();
+            String signature = signature(state);
+            if (last != null && last.getSignature().equals(signature)) {
+                return;
+            }
+            // 签名之前的写入在刷新后都可以搜索到
+            client.admin().indices().prepareRefresh(INDEX).get();
+            long start = System.nanoTime();
+            long term = state.term();
+            long dictionaryVersion = version.incrementAndGet();
+            ClusterDictionary dictionary = AccessController.doPrivileged((PrivilegedAction<ClusterDictionary>) () ->
+                    build(signature, term, dictionaryVersion));
+            logger.info("hanlp cluster dictionary [{}] is built in [{}], size: {} bytes", signature,
+                    TimeValue.timeValueNanos(System.nanoTime() - start), dictionary.getSizeInBytes());
+            published = dictionary;
+            publish(dictionary, term, dictionaryVersion);
+        } catch (Exception e) {
+            logger.error("can not sync hanlp cluster dictionary", e);
+        }
+    }
+
+    /**
+     * The signature changes whenever a source is indexed, updated or deleted: the primary term and the max sequence
+     * number of every primary shard, so it holds for any number of shards.
+     */
+    private String signature(ClusterState state) {
+        IndexMetadata indexMetadata = state.metadata().index(INDEX);
+        IndicesStatsResponse response = client.admin().indices().stats(new IndicesStatsRequest().indices(INDEX).clear().docs(true))
+                .actionGet();
+        TreeMap<Integer, String> shards = new TreeMap<>();
+        for (ShardStats shard : response.getShards()) {
+            if (!shard.getShardRouting().primary() || shard.getSeqNoStats() == null) {
+                continue;
+            }
+            int shardId = shard.getShardRouting().shardId().id();
+            shards.put(shardId, shardId + ":" + indexMetadata.primaryTerm(shardId) + ":" + shard.getSeqNoStats().getMaxSeqNo());
+        }
+        return indexMetadata.getIndexUUID() + "/" + String.join(",", shards.values());
+    }
+
+    private ClusterDictionary build(String signature, long term, long dictionaryVersion) {
+        TreeMap<String, CoreDictionary.Attribute> map = new TreeMap<>();
+        LinkedHashSet<Nature> customNatureCollector = new LinkedHashSet<>();
+        Set<String> stopWords = new LinkedHashSet<>();
+        Set<String> removedWords = new LinkedHashSet<>();
+        CustomDictionaryUtils.loadFileWords(map, customNatureCollector);
+        SearchResponse response = client.search(new SearchRequest(INDEX)
+                .scroll(SCROLL_KEEP_ALIVE)
+                .source(new SearchSourceBuilder().size(BATCH_SIZE).query(QueryBuilders.matchAllQuery()))).actionGet();
+        List<String> scrollIds = new ArrayList<>();
+        try {
+            while (response.getHits().getHits().length > 0) {
+                scrollIds.add(response.getScrollId());
+                for (SearchHit hit : response.getHits().getHits()) {
+                    loadSource(hit, map, customNatureCollector, stopWords, removedWords);
+                }
+                response = client.searchScroll(new SearchScrollRequest(response.getScrollId()).scroll(SCROLL_KEEP_ALIVE)).actionGet();
+            }
+            scrollIds.add(response.getScrollId());
+        } finally {
+            ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+            clearScrollRequest.setScrollIds(scrollIds);
+            client.clearScroll(clearScrollRequest);
+        }
+        // 在线删除的词覆盖所有来源
+        map.keySet().removeAll(removedWords);
+        try {
+            return ClusterDictionary.build(signature, term, dictionaryVersion, map, stopWords);
+        } catch (Exception e) {
+            throw new IllegalStateException("can not build hanlp cluster dictionary", e);
+        }
+    }
+
+    private void loadSource(SearchHit hit, TreeMap<String, CoreDictionary.Attribute> map, LinkedHashSet<Nature> customNatureCollector,
+                            Set<String> stopWords, Set<String> removedWords) {
+        Map<String, Object> source = hit.getSourceAsMap();
+        Object content = source.get("content");
+        if (content == null) {
+            return;
+        }
+        Object type = source.getOrDefault("type", "custom");
+        try (BufferedReader br = new BufferedReader(new StringReader(content.toString()))) {
+            if ("stop".equals(type)) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        stopWords.add(line.trim());
+                    }
+                }
+            } else if ("remove".equals(type)) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        // 与词典中的词一样正规化
+                        removedWords.add(HanLP.Config.Normalization ? CharTable.convert(line.trim()) : line.trim());
+                    }
+                }
+            } else if ("custom".equals(type)) {
+                Object nature = source.get("nature");
+                Nature defaultNature = nature == null
+                        ? Nature.n
+                        : LexiconUtility.convertStringToNature(nature.toString(), customNatureCollector);
+                CustomDictionaryUtils.load(br, false, defaultNature, map, customNatureCollector);
+            } else {
+                logger.warn("unknown type [{}] of hanlp dictionary source [{}]", type, hit.getId());
+            }
+        } catch (Exception e) {
+            logger.warn(() -> new ParameterizedMessage("can not load hanlp dictionary source [{}]", hit.getId()), e);
+        }
+    }
+
+    private void publish(ClusterDictionary dictionary, long term, long dictionaryVersion, String... nodeIds) {
+        client.execute(PublishDictionaryAction.INSTANCE, new PublishDictionaryRequest(dictionary, term, dictionaryVersion, nodeIds),
+                new ActionListener<PublishDictionaryResponse>() {
+                    @Override
+                    public void onResponse(PublishDictionaryResponse response) {
+                        logger.info("hanlp cluster dictionary [{}] is published to {} nodes, {} failures",
+                                dictionary == null ? null : dictionary.getSignature(), response.getNodes().size(),
+                                response.failures().size());
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        logger.error("can not publish hanlp cluster dictionary", e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.dictionary;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.collection.trie.DoubleArrayTrie;
+import com.hankcs.hanlp.corpus.io.IOUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.analysis.charfilter.NormalizeCharMap;
+import org.opensearch.common.unit.TimeValue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * The traditional and simplified Chinese conversion tables of the {@code tc} dictionary, loaded once.
+ * <p>
+ * The single char mappings, which are most of the table, are kept in a primitive array indexed by the char, the
+ * phrases and the chars out of the BMP in a double array trie matched longest first. Both directions merge their own
+ * table with the reversed table of the other direction like HanLP does. The streaming char filters use a Lucene
+ * {@link NormalizeCharMap} of the same mappings instead, which is only built once a char filter is created.
+ *
+ * @author Rory Ye
+ */
+public class ConversionDictionary {
+
+    private static final Logger logger = LogManager.getLogger(ConversionDictionary.class);
+
+    private static volatile ConversionDictionary traditionalToSimplified = null;
+
+    private static volatile ConversionDictionary simplifiedToTraditional = null;
+
+    public static ConversionDictionary traditionalToSimplified() {
+        if (traditionalToSimplified == null) {
+            synchronized (ConversionDictionary.class) {
+                if (traditionalToSimplified == null) {//二次检查
+                    traditionalToSimplified = load("t2s.txt", "s2t.txt");
+                }
+            }
+        }
+        return traditionalToSimplified;
+    }
+
+    public static ConversionDictionary simplifiedToTraditional() {
+        if (simplifiedToTraditional == null) {
+            synchronized (ConversionDictionary.class) {
+                if (simplifiedToTraditional == null) {//二次检查
+                    simplifiedToTraditional = load("s2t.txt", "t2s.txt");
+                }
+            }
+        }
+        return simplifiedToTraditional;
+    }
+
+    /**
+     * 正向表的文件名
+     */
+    private final String name;
+
+    /**
+     * 反向合并的另一方向表的文件名
+     */
+    private final String reversedName;
+
+    /**
+     * 单字映射表，下标为原字符，未收录的字符映射到自己
+     */
+    private final char[] chars = new char[Character.MAX_VALUE + 1];
+
+    /**
+     * 词组及非BMP字符的映射
+     */
+    private final DoubleArrayTrie<String> trie = new DoubleArrayTrie<>();
+
+    /**
+     * 最长的词组长度
+     */
+    private int maxLength = 1;
+
+    /**
+     * 字符过滤器使用的最长匹配自动机，首次使用时构建
+     */
+    private volatile NormalizeCharMap charMap;
+
+    private ConversionDictionary(String name, String reversedName) {
+        this.name = name;
+        this.reversedName = reversedName;
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) i;
+        }
+    }
+
+    /**
+     * Convert the char.
+     *
+     * @param c the char
+     * @return the converted char, or the char itself if it is not in the table
+     */
+    public char convert(char c) {
+        return chars[c];
+    }
+
+    /**
+     * The trie of the phrases and the chars out of the BMP.
+     *
+     * @return the trie
+     */
+    public DoubleArrayTrie<String> getTrie() {
+        return trie;
+    }
+
+    /**
+     * The length of the longest key.
+     *
+     * @return the length in chars
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * The longest matching automaton of all the mappings, including those changing the length, used by the streaming
+     * char filters.
+     *
+     * @return the char map
+     */
+    public NormalizeCharMap getCharMap() {
+        if (charMap == null) {
+            synchronized (this) {
+                if (charMap == null) {//二次检查
+                    charMap = AccessController.doPrivileged((PrivilegedAction<NormalizeCharMap>) this::buildCharMap);
+                }
+            }
+        }
+        return charMap;
+    }
+
+    /**
+     * Convert the text in place. The phrases are matched longest first, the phrases converted to a different length
+     * can not be applied in place and are converted char by char instead.
+     *
+     * @param text the text
+     */
+    public void convertInPlace(char[] text) {
+        int i = 0;
+        if (maxLength > 1) {
+            DoubleArrayTrie<String>.LongestSearcher searcher = trie.getLongestSearcher(text, 0);
+            while (searcher.next()) {
+                for (; i < searcher.begin; i++) {
+                    text[i] = chars[text[i]];
+                }
+                if (searcher.value.length() == searcher.length) {
+                    searcher.value.getChars(0, searcher.length, text, searcher.begin);
+                    i = searcher.begin + searcher.length;
+                }
+            }
+        }
+        for (; i < text.length; i++) {
+            text[i] = chars[text[i]];
+        }
+    }
+
+    private static ConversionDictionary load(String name, String reversedName) {
+        return AccessController.doPrivileged((PrivilegedAction<ConversionDictionary>) () -> {
+            long start = System.nanoTime();
+            ConversionDictionary dictionary = new ConversionDictionary(name, reversedName);
+            TreeMap<String, String> phrases = new TreeMap<>();
+            // 反向表只补充正向表没有的词条
+            boolean[] assigned = new boolean[dictionary.chars.length];
+            dictionary.forEach((key, value) -> {
+                if (key.length() == 1 && value.length() == 1) {
+                    char c = key.charAt(0);
+                    if (!assigned[c]) {
+                        assigned[c] = true;
+                        dictionary.chars[c] = value.charAt(0);
+                    }
+                } else if (phrases.putIfAbsent(key, value) == null) {
+                    dictionary.maxLength = Math.max(dictionary.maxLength, key.length());
+                }
+            });
+            if (!phrases.isEmpty()) {
+                dictionary.trie.build(phrases);
+            }
+            logger.info("hanlp conversion dictionary [{}] is loaded in [{}], phrases: {}",
+                    name, TimeValue.timeValueNanos(System.nanoTime() - start), phrases.size());
+            return dictionary;
+        });
+    }
+
+    private NormalizeCharMap buildCharMap() {
+        long start = System.nanoTime();
+        // NormalizeCharMap不允许重复的键，先合并两个方向的表
+        Map<String, String> mappings = new LinkedHashMap<>();
+        forEach(mappings::putIfAbsent);
+        NormalizeCharMap.Builder builder = new NormalizeCharMap.Builder();
+        mappings.forEach(builder::add);
+        NormalizeCharMap map = builder.build();
+        logger.info("hanlp conversion char map [{}] is built in [{}], mappings: {}",
+                name, TimeValue.timeValueNanos(System.nanoTime() - start), mappings.size());
+        return map;
+    }
+
+    /**
+     * Visit the mappings of the table and then the reversed mappings of the other direction.
+     */
+    private void forEach(BiConsumer<String, String> consumer) {
+        read(name, false, consumer);
+        read(reversedName, true, consumer);
+    }
+
+    private static void read(String name, boolean reversed, BiConsumer<String, String> consumer) {
+        String path = HanLP.Config.tcDictionaryRoot + name;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(IOUtil.newInputStream(path), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                int index = line.indexOf('=');
+                if (index <= 0 || index == line.length() - 1) {
+                    continue;
+                }
+                if (reversed) {
+                    consumer.accept(line.substring(index + 1), line.substring(0, index));
+                } else {
+                    consumer.accept(line.substring(0, index), line.substring(index + 1));
+                }
+            }
+        } catch (IOException e) {
+            logger.error(new ParameterizedMessage("hanlp can not load conversion dictionary [{}]", path), e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.dictionary;
+
+import com.hankcs.hanlp.collection.trie.DoubleArrayTrie;
+import com.hankcs.hanlp.collection.trie.bintrie.BinTrie;
+import com.hankcs.hanlp.corpus.io.IOUtil;
+import com.hankcs.hanlp.corpus.tag.Nature;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import com.hankcs.hanlp.dictionary.DynamicCustomDictionary;
+import com.hankcs.hanlp.utility.LexiconUtility;
+import com.hankcs.hanlp.utility.Predefine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.env.Environment;
+import org.opensearch.index.Index;
+import org.opensearch.plugin.analysis.hanlp.AnalysisHanLPPlugin;
+import org.opensearch.plugin.analysis.hanlp.utils.CustomDictionaryUtils;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The registry of the custom dictionaries configured per index with {@code custom_dictionary_paths}.
+ * <p>
+ * Indices configured with the same set of dictionary files share one trie. A trie is referenced by the indices using
+ * it and released once the last of them is removed from the node, so each distinct set is only kept in memory once.
+ *
+ * @author Rory Ye
+ */
+public class CustomDictionaryRegistry {
+
+    private static final Logger logger = LogManager.getLogger(CustomDictionaryRegistry.class);
+
+    /**
+     * 每个词条除双数组外的估算内存：属性对象、词性数组和频次数组
+     */
+    private static final long BYTES_PER_WORD = 64;
+
+    private static volatile CustomDictionaryRegistry instance = null;
+
+    public static CustomDictionaryRegistry getInstance() {
+        if (instance == null) {
+            synchronized (CustomDictionaryRegistry.class) {
+                if (instance == null) {//二次检查
+                    instance = new CustomDictionaryRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private long memoryInBytes = 0;
+
+    private CustomDictionaryRegistry() {
+    }
+
+    /**
+     * Acquire the dictionary built from the given files for the index, the files are resolved against the config
+     * directory of the plugin and may be followed by a default nature like {@code dic/brand.txt nz}.
+     *
+     * @param index       the index using the dictionary
+     * @param environment the opensearch environment
+     * @param paths       the dictionary files
+     * @return the shared dictionary
+     */
+    public synchronized DynamicCustomDictionary acquire(Index index, Environment environment, List<String> paths) {
+        String[] resolved = resolve(environment, paths);
+        String key = String.join(";", resolved);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = AccessController.doPrivileged((PrivilegedAction<Entry>) () -> build(resolved));
+            if (index == null || IndexMetadata.INDEX_UUID_NA_VALUE.equals(index.getUUID())) {
+                // 没有索引持有的词典不缓存，例如不指定索引的_analyze请求
+                return entry.dictionary;
+            }
+            entries.put(key, entry);
+            memoryInBytes += entry.memoryInBytes;
+            logger.info("hanlp custom dictionary {} is loaded, words: {}, memory: {}, total memory: {}", key, entry.words,
+                    new ByteSizeValue(entry.memoryInBytes), new ByteSizeValue(memoryInBytes));
+        }
+        if (index != null && !IndexMetadata.INDEX_UUID_NA_VALUE.equals(index.getUUID()) && entry.indices.add(index.getUUID())) {
+            logger.debug("hanlp custom dictionary {} is acquired by {}, references: {}", key, index, entry.indices.size());
+        }
+        return entry.dictionary;
+    }
+
+    /**
+     * Release the dictionaries referenced by the removed index.
+     *
+     * @param index the removed index
+     */
+    public synchronized void release(Index index) {
+        entries.entrySet().removeIf(e -> {
+            Entry entry = e.getValue();
+            if (!entry.indices.remove(index.getUUID()) || !entry.indices.isEmpty()) {
+                return false;
+            }
+            memoryInBytes -= entry.memoryInBytes;
+            logger.info("hanlp custom dictionary {} is released, total memory: {}", e.getKey(), new ByteSizeValue(memoryInBytes));
+            return true;
+        });
+    }
+
+    /**
+     * The count of the distinct dictionaries kept in memory.
+     *
+     * @return count of dictionaries
+     */
+    public synchronized int getDictionaryCount() {
+        return entries.size();
+    }
+
+    /**
+     * The estimated memory used by all dictionaries.
+     *
+     * @return memory in bytes
+     */
+    public synchronized long getMemoryInBytes() {
+        return memoryInBytes;
+    }
+
+    private static String[] resolve(Environment environment, List<String> paths) {
+        Path configDir = environment.configFile().resolve(AnalysisHanLPPlugin.PLUGIN_NAME);
+        Set<String> resolved = new TreeSet<>();
+        for (String path : paths) {
+            String trimmed = path.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int cut = trimmed.indexOf(' ');
+            String file = cut > 0 ? trimmed.substring(0, cut) : trimmed;
+            String nature = cut > 0 ? trimmed.substring(cut) : "";
+            Path filePath = configDir.resolve(file).normalize();
+            if (!filePath.startsWith(configDir)) {
+                throw new IllegalArgumentException("custom dictionary path [" + file + "] is out of " + configDir);
+            }
+            resolved.add(filePath + nature);
+        }
+        if (resolved.isEmpty()) {
+            throw new IllegalArgumentException("custom_dictionary_paths must not be empty");
+        }
+        return resolved.toArray(new String[0]);
+    }
+
+    private static Entry build(String[] paths) {
+        TreeMap<String, CoreDictionary.Attribute> map = new TreeMap<>();
+        LinkedHashSet<Nature> customNatureCollector = new LinkedHashSet<>();
+        for (String path : paths) {
+            Nature defaultNature = Nature.n;
+            int cut = path.indexOf(' ');
+            if (cut > 0) {
+                // 有默认词性
+                defaultNature = LexiconUtility.convertStringToNature(path.substring(cut + 1).trim(), customNatureCollector);
+                path = path.substring(0, cut);
+            }
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(IOUtil.newInputStream(path), StandardCharsets.UTF_8))) {
+                CustomDictionaryUtils.load(br, path.endsWith(".csv"), defaultNature, map, customNatureCollector);
+            } catch (Exception e) {
+                String file = path;
+                logger.error(() -> new ParameterizedMessage("hanlp custom dictionary [{}] read failed!", file), e);
+                throw new IllegalArgumentException("can not read custom dictionary [" + file + "]", e);
+            }
+        }
+        int words = map.size();
+        if (map.isEmpty()) {
+            // 当作空白占位符
+            map.put(Predefine.TAG_OTHER, null);
+        }
+        DoubleArrayTrie<CoreDictionary.Attribute> dat = new DoubleArrayTrie<>();
+        dat.build(map);
+        return new Entry(new DynamicCustomDictionary(dat, new BinTrie<>(), paths), words,
+                // base和check两个int数组
+                8L * dat.getSize() + BYTES_PER_WORD * words);
+    }
+
+    private static class Entry {
+
+        private final DynamicCustomDictionary dictionary;
+
+        private final int words;
+
+        private final long memoryInBytes;
+
+        private final Set<String> indices = new HashSet<>();
+
+        private Entry(DynamicCustomDictionary dictionary, int words, long memoryInBytes) {
+            this.dictionary = dictionary;
+            this.words = words;
+            this.memoryInBytes = memoryInBytes;
+        }
+    }
+}
@@ -25,7 +25,10 @@ import java.io.File;
 import java.io.IOException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The stop word dictionary, Modified the original stop word filter, deleted the part of speech filter, and only filtered the words in the stop word stopWordDictionary.
@@ -38,6 +41,11 @@ public class CustomStopWordDictionary {
     
     private static final StopWordDictionary stopWordDictionary;
 
+    /**
+     * 由集群词典加入的停用词，不包括本地已有的
+     */
+    private static Set<String> clusterStopWords = new HashSet<>();
+
     private static final Filter FILTER = term -> {
         // 除掉停用词
         String nature = term.nature != null ? term.nature.toString() : "空";
@@ -62,14 +70,43 @@ public class CustomStopWordDictionary {
         return !shouldInclude(term);
     }
 
-    public static void add(String stopWord) {
+    public static synchronized void add(String stopWord) {
+        // 本地加入后不再随集群词典删除
+        clusterStopWords.remove(stopWord);
         stopWordDictionary.add(stopWord);
     }
 
-    public static void remove(String stopWord) {
+    public static synchronized void remove(String stopWord) {
+        clusterStopWords.remove(stopWord);
         stopWordDictionary.remove(stopWord);
     }
 
+    /**
+     * Apply the stop words published by the cluster manager, the stop words added by the previous publication which
+     * are not published any more are removed. The locally configured stop words are never removed, even if they were
+     * published too.
+     *
+     * @param stopWords the cluster stop words
+     */
+    public static synchronized void applyClusterStopWords(Collection<String> stopWords) {
+        Set<String> published = new HashSet<>(stopWords);
+        Set<String> added = new HashSet<>();
+        for (String stopWord : clusterStopWords) {
+            if (published.contains(stopWord)) {
+                added.add(stopWord);
+            } else {
+                stopWordDictionary.remove(stopWord);
+            }
+        }
+        for (String stopWord : published) {
+            if (!stopWordDictionary.contains(stopWord)) {
+                stopWordDictionary.add(stopWord);
+                added.add(stopWord);
+            }
+        }
+        clusterStopWords = added;
+    }
+
     public static void apply(List<Term> termList) {
         termList.removeIf(CustomStopWordDictionary::shouldRemove);
     }
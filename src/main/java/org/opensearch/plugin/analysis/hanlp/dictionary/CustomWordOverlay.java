@@ -0,0 +1,144 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.dictionary;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.collection.trie.DoubleArrayTrie;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import com.hankcs.hanlp.dictionary.CustomDictionary;
+import com.hankcs.hanlp.dictionary.other.CharTable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The in-memory overlay of custom words added or removed online, until the cluster dictionary contains them.
+ * <p>
+ * The words are stored as sources of the cluster dictionary in the {@value ClusterDictionaryPublisher#INDEX} index
+ * first, so the nodes which are down or join later get them with the next published dictionary. Meanwhile an added
+ * word is inserted into the {@code BinTrie} of {@link CustomDictionary#DEFAULT} at once, no trie is rebuilt for it.
+ * Every applied cluster dictionary drains the words it contains from the overlay and the {@code BinTrie} again, so the
+ * segmentation hot path never walks a large {@code BinTrie}. A removed word is dropped from the {@code BinTrie} at once
+ * and from the double array trie with the next published dictionary.
+ *
+ * @author Rory Ye
+ */
+public class CustomWordOverlay {
+
+    private static final Logger logger = LogManager.getLogger(CustomWordOverlay.class);
+
+    private static volatile CustomWordOverlay instance = null;
+
+    public static CustomWordOverlay getInstance() {
+        if (instance == null) {
+            synchronized (CustomWordOverlay.class) {
+                if (instance == null) {//二次检查
+                    instance = new CustomWordOverlay();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private final Map<String, CoreDictionary.Attribute> additions = new ConcurrentHashMap<>();
+
+    private final Set<String> removals = ConcurrentHashMap.newKeySet();
+
+    private CustomWordOverlay() {
+    }
+
+    /**
+     * Add a word, it is visible to new segmentation at once.
+     *
+     * @param word                the word
+     * @param natureWithFrequency the natures with frequencies, like {@code nz 1000}
+     */
+    public void add(String word, String natureWithFrequency) {
+        String key = normalize(word);
+        CoreDictionary.Attribute attribute = CoreDictionary.Attribute.create(natureWithFrequency);
+        if (attribute == null) {
+            throw new IllegalArgumentException("invalid nature and frequency [" + natureWithFrequency + "] of word [" + word + "]");
+        }
+        removals.remove(key);
+        additions.put(key, attribute);
+        AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> CustomDictionary.DEFAULT.insert(key, natureWithFrequency));
+    }
+
+    /**
+     * Remove a word, it is removed from the double array trie with the next published cluster dictionary.
+     *
+     * @param word the word
+     */
+    public void remove(String word) {
+        String key = normalize(word);
+        additions.remove(key);
+        removals.add(key);
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            CustomDictionary.DEFAULT.remove(key);
+            return null;
+        });
+    }
+
+    public int getAdditionSize() {
+        return additions.size();
+    }
+
+    public int getRemovalSize() {
+        return removals.size();
+    }
+
+    /**
+     * Apply the overlay to the words which will be built into the double array trie, when the local dictionary files
+     * are reloaded.
+     *
+     * @param map the custom words
+     */
+    public void applyTo(TreeMap<String, CoreDictionary.Attribute> map) {
+        for (String removal : removals) {
+            map.remove(removal);
+        }
+        map.putAll(additions);
+    }
+
+    /**
+     * Drain the words already applied by the double array trie of a cluster dictionary, the added words it contains
+     * and the removed words it does not contain. The words changed again meanwhile are kept.
+     *
+     * @param dat the double array trie swapped in
+     */
+    public void drain(DoubleArrayTrie<CoreDictionary.Attribute> dat) {
+        int drainedAdditions = 0;
+        for (Map.Entry<String, CoreDictionary.Attribute> entry : additions.entrySet()) {
+            if (dat.exactMatchSearch(entry.getKey()) >= 0 && additions.remove(entry.getKey(), entry.getValue())) {
+                CustomDictionary.DEFAULT.remove(entry.getKey());
+                drainedAdditions++;
+            }
+        }
+        int drainedRemovals = 0;
+        for (String removal : removals) {
+            if (dat.exactMatchSearch(removal) < 0 && removals.remove(removal)) {
+                drainedRemovals++;
+            }
+        }
+        if (drainedAdditions > 0 || drainedRemovals > 0) {
+            logger.info("hanlp drained {} online custom words and {} online removed words, pending: {} and {}", drainedAdditions,
+                    drainedRemovals, additions.size(), removals.size());
+        }
+    }
+
+    private static String normalize(String word) {
+        // 正规化
+        return HanLP.Config.Normalization ? CharTable.convert(word) : word;
+    }
+}
@@ -57,6 +57,7 @@ public class Dictionary {
                     singleton = new Dictionary(configuration);
                     singleton.setUp();
                     pool.scheduleAtFixedRate(new CustomDictionaryMonitor(), 10, 60, TimeUnit.SECONDS);
+                    pool.scheduleAtFixedRate(SynonymDictionary::reloadIfModified, 10, 60, TimeUnit.SECONDS);
                     if (configuration.isEnableRemoteDict()) {
                         for (String location : RemoteDictionaryConfig.getInstance().getRemoteExtDictionaries()) {
                             pool.scheduleAtFixedRate(new RemoteDictionaryMonitor(location, "custom"), 10, 60, TimeUnit.SECONDS);
@@ -0,0 +1,129 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.dictionary;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.collection.trie.DoubleArrayTrie;
+import com.hankcs.hanlp.corpus.io.IOUtil;
+import com.hankcs.hanlp.corpus.tag.Nature;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.plugin.analysis.hanlp.utils.CustomDictionaryUtils;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.LinkedHashSet;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The double array trie of the core words merged with the global custom words, used by the speed tokenizer.
+ * <p>
+ * One longest matching pass over the merged trie replaces the separate passes over the core and the custom trie. The
+ * trie is only built once a speed tokenizer is created. After a reload of the custom dictionary it is rebuilt on a
+ * background thread and swapped in as a whole, the speed tokenizers keep matching the previous trie meanwhile, and the
+ * reloads arriving during a rebuild are coalesced into one more rebuild. The online custom words do not rebuild it,
+ * the speed tokenizer matches them in the {@code BinTrie} until they are part of the custom dictionary.
+ *
+ * @author Rory Ye
+ */
+public class SpeedDictionary {
+
+    private static final Logger logger = LogManager.getLogger(SpeedDictionary.class);
+
+    private static volatile SpeedDictionary instance = null;
+
+    private static final ExecutorService REBUILDER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hanlp-speed-dictionary");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static SpeedDictionary getInstance() {
+        if (instance == null) {
+            synchronized (SpeedDictionary.class) {
+                if (instance == null) {//二次检查
+                    SpeedDictionary dictionary = new SpeedDictionary();
+                    AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                        dictionary.rebuild();
+                        return null;
+                    });
+                    instance = dictionary;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Rebuild the merged trie in the background if a speed tokenizer ever used it.
+     */
+    public static void rebuildIfLoaded() {
+        SpeedDictionary dictionary = instance;
+        if (dictionary != null && dictionary.pending.compareAndSet(false, true)) {
+            REBUILDER.execute(() -> {
+                // 重建开始后的重新加载会再触发一次重建
+                dictionary.pending.set(false);
+                AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                    dictionary.rebuild();
+                    return null;
+                });
+            });
+        }
+    }
+
+    /**
+     * 合并后的双数组trie，构建失败时为空
+     */
+    private volatile DoubleArrayTrie<CoreDictionary.Attribute> trie;
+
+    /**
+     * 是否已有等待执行的重建
+     */
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    private SpeedDictionary() {
+    }
+
+    /**
+     * The merged trie.
+     *
+     * @return the trie, or {@code null} if it can not be built and the core and custom tries have to be matched one
+     * after another
+     */
+    public DoubleArrayTrie<CoreDictionary.Attribute> getTrie() {
+        return trie;
+    }
+
+    private synchronized void rebuild() {
+        long start = System.nanoTime();
+        TreeMap<String, CoreDictionary.Attribute> map = new TreeMap<>();
+        LinkedHashSet<Nature> customNatureCollector = new LinkedHashSet<>();
+        String corePath = HanLP.Config.CoreDictionaryPath;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(IOUtil.newInputStream(corePath), StandardCharsets.UTF_8))) {
+            CustomDictionaryUtils.load(br, false, Nature.n, map, customNatureCollector);
+            int coreSize = map.size();
+            // 自定义词条覆盖核心词条
+            CustomDictionaryUtils.loadWords(map, customNatureCollector);
+            DoubleArrayTrie<CoreDictionary.Attribute> merged = new DoubleArrayTrie<>();
+            merged.build(map);
+            trie = merged;
+            logger.info("hanlp speed dictionary is built in [{}], core words: {}, total words: {}, size: {}",
+                    TimeValue.timeValueNanos(System.nanoTime() - start), coreSize, map.size(), merged.getSize());
+        } catch (Exception e) {
+            logger.error("hanlp can not build speed dictionary, fall back to matching core and custom dictionary separately", e);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.dictionary;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.corpus.io.IOUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.analysis.synonym.SynonymMap;
+import org.apache.lucene.store.InputStreamDataInput;
+import org.apache.lucene.store.OutputStreamDataOutput;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefHash;
+import org.apache.lucene.util.CharsRef;
+import org.apache.lucene.util.fst.ByteSequenceOutputs;
+import org.apache.lucene.util.fst.FST;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+/**
+ * The synonym map compiled from the HanLP core synonym dictionary, shared by all the indices of the node.
+ * <p>
+ * Only the groups marked with {@code =} are synonyms. The first word of a group is its canonical word, every other
+ * word is kept and expanded to the canonical word, so a group takes one entry per word instead of one per pair of
+ * words, and the synonyms match each other once the filter is used both at index and at search time. The compiled map
+ * is cached in binary form beside the dictionary with the suffix {@code .fst}, so the text is only parsed again after
+ * it is modified. The dictionary monitor reloads the map once the text file changes, the token streams created after
+ * that use the new map.
+ * <p>
+ * The filters which ignore case use a second map of the lowercased words, built the first time it is asked for and
+ * cached with the suffix {@code .lowercase.fst}.
+ *
+ * @author Rory Ye
+ */
+public class SynonymDictionary implements ToXContentObject {
+
+    private static final Logger logger = LogManager.getLogger(SynonymDictionary.class);
+
+    private static final String CACHE_SUFFIX = ".fst";
+
+    private static final String LOWER_CASE_CACHE_SUFFIX = ".lowercase.fst";
+
+    /**
+     * 缓存格式的版本，格式变化时递增
+     */
+    private static final int CACHE_VERSION = 2;
+
+    private static volatile SynonymDictionary instance = null;
+
+    public static SynonymDictionary getInstance() {
+        if (instance == null) {
+            synchronized (SynonymDictionary.class) {
+                if (instance == null) {//二次检查
+                    SynonymDictionary dictionary = new SynonymDictionary();
+                    AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                        dictionary.load(false);
+                        return null;
+                    });
+                    instance = dictionary;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reload the synonym map if a synonym filter ever used it and the dictionary is modified since.
+     */
+    public static void reloadIfModified() {
+        SynonymDictionary dictionary = instance;
+        if (dictionary != null && dictionary.lastModified != lastModified(dictionary.path)) {
+            logger.info("reloading hanlp synonym dictionary [{}]", dictionary.path);
+            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                dictionary.load(false);
+                if (dictionary.lowerCaseSnapshot != null) {
+                    dictionary.load(true);
+                }
+                return null;
+            });
+        }
+    }
+
+    private final String path = HanLP.Config.CoreSynonymDictionaryDictionaryPath;
+
+    private volatile Snapshot snapshot = new Snapshot(null, 0, 0, 0, false);
+
+    /**
+     * 小写的同义词表，忽略大小写的过滤器第一次使用时加载
+     */
+    private volatile Snapshot lowerCaseSnapshot = null;
+
+    /**
+     * 当前同义词表对应的词典修改时间
+     */
+    private volatile long lastModified;
+
+    private SynonymDictionary() {
+    }
+
+    /**
+     * The synonym map.
+     *
+     * @return the map, or {@code null} if the dictionary is empty or can not be loaded
+     */
+    public SynonymMap getSynonymMap() {
+        return snapshot.map;
+    }
+
+    /**
+     * The synonym map of the lowercased words for the filters which ignore case.
+     *
+     * @return the map, or {@code null} if the dictionary is empty or can not be loaded
+     */
+    public SynonymMap getLowerCaseSynonymMap() {
+        if (lowerCaseSnapshot == null) {
+            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                synchronized (this) {
+                    if (lowerCaseSnapshot == null) {//二次检查
+                        load(true);
+                    }
+                }
+                return null;
+            });
+        }
+        Snapshot current = lowerCaseSnapshot;
+        return current == null ? null : current.map;
+    }
+
+    private synchronized void load(boolean lowerCase) {
+        long start = System.nanoTime();
+        long modified = lastModified(path);
+        String cachePath = path + (lowerCase ? LOWER_CASE_CACHE_SUFFIX : CACHE_SUFFIX);
+        Snapshot loaded = null;
+        try {
+            loaded = readCache(cachePath, modified);
+        } catch (Exception e) {
+            logger.warn(new ParameterizedMessage("hanlp can not read synonym cache [{}], rebuild it", cachePath), e);
+        }
+        if (loaded == null) {
+            try {
+                loaded = build(lowerCase);
+            } catch (IOException e) {
+                logger.error(new ParameterizedMessage("hanlp can not load synonym dictionary [{}]", path), e);
+                if (lowerCase && lowerCaseSnapshot == null) {
+                    // 避免每次创建过滤器都重试
+                    lowerCaseSnapshot = new Snapshot(null, 0, 0, 0, false);
+                }
+                return;
+            }
+            try {
+                writeCache(cachePath, modified, loaded);
+            } catch (IOException e) {
+                logger.warn(new ParameterizedMessage("hanlp can not write synonym cache [{}]", cachePath), e);
+            }
+        }
+        if (lowerCase) {
+            lowerCaseSnapshot = loaded;
+        } else {
+            snapshot = loaded;
+            lastModified = modified;
+        }
+        logger.info("hanlp {}synonym dictionary is loaded in [{}] from {}, groups: {}, words: {}, fst size: {}",
+                lowerCase ? "lowercase " : "", TimeValue.timeValueNanos(System.nanoTime() - start),
+                loaded.fromCache ? "cache" : "text", loaded.groups, loaded.words, loaded.fstSizeInBytes);
+    }
+
+    private Snapshot build(boolean lowerCase) throws IOException {
+        SynonymMap.Builder builder = new SynonymMap.Builder(true);
+        int groups = 0;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(IOUtil.newInputStream(path), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                // 编码后为=的是同义词，#为相关词，@为独立词
+                int index = line.indexOf('=');
+                if (index < 0) {
+                    continue;
+                }
+                String[] words = line.substring(index + 1).trim().split("\\s+");
+                if (words.length < 2) {
+                    continue;
+                }
+                // 每个词保留原词并映射到组内第一个词
+                String canonical = lowerCase ? lowerCase(words[0]) : words[0];
+                CharsRef canonicalRef = new CharsRef(canonical);
+                for (int i = 1; i < words.length; i++) {
+                    String word = lowerCase ? lowerCase(words[i]) : words[i];
+                    if (!word.equals(canonical)) {
+                        builder.add(new CharsRef(word), canonicalRef, true);
+                    }
+                }
+                groups++;
+            }
+        }
+        SynonymMap map = builder.build();
+        return new Snapshot(map.fst == null ? null : map, groups, map.words.size(), fstSize(map), false);
+    }
+
+    /**
+     * Lowercase the word by code point like {@code SynonymGraphFilter} does when it ignores case.
+     */
+    static String lowerCase(String word) {
+        StringBuilder sb = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); ) {
+            int codePoint = word.codePointAt(i);
+            sb.appendCodePoint(Character.toLowerCase(codePoint));
+            i += Character.charCount(codePoint);
+        }
+        return sb.toString();
+    }
+
+    private static Snapshot readCache(String cachePath, long modified) throws IOException {
+        if (modified == 0 || lastModified(cachePath) == 0) {
+            return null;
+        }
+        try (BufferedInputStream in = new BufferedInputStream(IOUtil.newInputStream(cachePath))) {
+            InputStreamDataInput input = new InputStreamDataInput(in);
+            if (input.readInt() != CACHE_VERSION || input.readLong() != modified) {
+                // 词典修改过，缓存已过期
+                return null;
+            }
+            int groups = input.readInt();
+            int maxHorizontalContext = input.readInt();
+            int size = input.readInt();
+            BytesRefHash words = new BytesRefHash();
+            for (int i = 0; i < size; i++) {
+                byte[] bytes = new byte[input.readVInt()];
+                input.readBytes(bytes, 0, bytes.length);
+                words.add(new BytesRef(bytes));
+            }
+            FST<BytesRef> fst = new FST<>(input, input, ByteSequenceOutputs.getSingleton());
+            SynonymMap map = new SynonymMap(fst, words, maxHorizontalContext);
+            return new Snapshot(map, groups, size, fstSize(map), true);
+        }
+    }
+
+    private static void writeCache(String cachePath, long modified, Snapshot snapshot) throws IOException {
+        if (modified == 0 || snapshot.map == null) {
+            return;
+        }
+        SynonymMap map = snapshot.map;
+        try (BufferedOutputStream out = new BufferedOutputStream(IOUtil.newOutputStream(cachePath))) {
+            OutputStreamDataOutput output = new OutputStreamDataOutput(out);
+            output.writeInt(CACHE_VERSION);
+            output.writeLong(modified);
+            output.writeInt(snapshot.groups);
+            output.writeInt(map.maxHorizontalContext);
+            output.writeInt(map.words.size());
+            BytesRef scratch = new BytesRef();
+            for (int i = 0; i < map.words.size(); i++) {
+                map.words.get(i, scratch);
+                output.writeVInt(scratch.length);
+                output.writeBytes(scratch.bytes, scratch.offset, scratch.length);
+            }
+            map.fst.save(output, output);
+        }
+    }
+
+    private static long fstSize(SynonymMap map) {
+        return map.fst == null ? 0 : map.fst.ramBytesUsed();
+    }
+
+    /**
+     * The last modified time of a local file, 0 if the file does not exist or is not local.
+     */
+    private static long lastModified(String path) {
+        return AccessController.doPrivileged((PrivilegedAction<Long>) () -> new File(path).lastModified());
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        Snapshot current = snapshot;
+        builder.startObject();
+        builder.field("path", path);
+        builder.field("loaded", current.map != null);
+        builder.field("from_cache", current.fromCache);
+        builder.field("groups", current.groups);
+        builder.field("words", current.words);
+        builder.field("fst_size_in_bytes", current.fstSizeInBytes);
+        Snapshot lowerCase = lowerCaseSnapshot;
+        builder.field("lowercase_loaded", lowerCase != null && lowerCase.map != null);
+        builder.endObject();
+        return builder;
+    }
+
+    /**
+     * 同义词表及其统计，整体替换
+     */
+    private static class Snapshot {
+
+        private final SynonymMap map;
+
+        private final int groups;
+
+        private final int words;
+
+        private final long fstSizeInBytes;
+
+        private final boolean fromCache;
+
+        Snapshot(SynonymMap map, int groups, int words, long fstSizeInBytes, boolean fromCache) {
+            this.map = map;
+            this.groups = groups;
+            this.words = words;
+            this.fstSizeInBytes = fstSizeInBytes;
+            this.fromCache = fromCache;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import org.apache.lucene.analysis.TokenFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
+import org.apache.lucene.util.BytesRefHash;
+import org.apache.lucene.util.UnicodeUtil;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.NatureAttribute;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Replace the whole token stream with its top keywords ranked by TextRank, like the HanLP {@code TextRankKeyword}.
+ * <p>
+ * The candidate words are the words of at least two chars whose nature is not a function word, number, pronoun or
+ * punctuation, the stop words are expected to be removed by the tokenizer. Every pair of different candidates within
+ * the window is an edge of the co-occurrence graph. The words are interned into a {@link BytesRefHash} and the graph
+ * is kept as sorted primitive edge arrays, so nothing is allocated per token and the buffers are reused by the next
+ * document. The top keywords are chosen by descending score but emitted in the order of their first occurrence, at its
+ * offsets, so the offsets never go backwards and the field can be indexed with offsets.
+ *
+ * @author Rory Ye
+ */
+public final class HanLPKeywordsTokenFilter extends TokenFilter {
+
+    private static final float DAMPING = 0.85f;
+
+    private static final float MIN_DIFF = 0.001f;
+
+    /**
+     * 不作为关键词的词性，与HanLP的停用词过滤一致
+     */
+    private static final NatureMask EXCLUDED = NatureMask.compile(
+            Arrays.asList("m", "b", "c", "e", "o", "p", "q", "u", "y", "z", "r", "w"));
+
+    private final CharTermAttribute termAtt = addAttribute(CharTermAttribute.class);
+
+    private final OffsetAttribute offsetAtt = addAttribute(OffsetAttribute.class);
+
+    private final NatureAttribute natureAtt = addAttribute(NatureAttribute.class);
+
+    private final int topK;
+
+    private final int window;
+
+    private final int iterations;
+
+    /**
+     * 词到编号
+     */
+    private final BytesRefHash words = new BytesRefHash();
+
+    private final BytesRefBuilder scratch = new BytesRefBuilder();
+
+    private final BytesRef word = new BytesRef();
+
+    /**
+     * 候选词编号序列
+     */
+    private int[] sequence = new int[256];
+
+    private int length;
+
+    /**
+     * 每个词首次出现的偏移量
+     */
+    private int[] startOffsets = new int[64];
+
+    private int[] endOffsets = new int[64];
+
+    /**
+     * 有向边，高32位为起点，低32位为终点
+     */
+    private long[] edges = new long[1024];
+
+    private float[] scores = new float[64];
+
+    private float[] nextScores = new float[64];
+
+    private int[] degrees = new int[64];
+
+    /**
+     * 每个词的第一条边的下标
+     */
+    private int[] edgeStarts = new int[65];
+
+    /**
+     * 关键词编号，按首次出现的位置排序
+     */
+    private int[] keywords = new int[16];
+
+    /**
+     * 是否已计算关键词
+     */
+    private boolean ranked;
+
+    private int keywordCount;
+
+    private int next;
+
+    public HanLPKeywordsTokenFilter(TokenStream input, int topK, int window, int iterations) {
+        super(input);
+        this.topK = topK;
+        this.window = window;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public boolean incrementToken() throws IOException {
+        if (!ranked) {
+            collect();
+            rank();
+            ranked = true;
+        }
+        if (next >= keywordCount) {
+            return false;
+        }
+        int id = keywords[next++];
+        clearAttributes();
+        words.get(id, word);
+        char[] buffer = termAtt.resizeBuffer(word.length);
+        termAtt.setLength(UnicodeUtil.UTF8toUTF16(word.bytes, word.offset, word.length, buffer));
+        offsetAtt.setOffset(startOffsets[id], endOffsets[id]);
+        return true;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        super.reset();
+        words.clear();
+        length = 0;
+        ranked = false;
+        keywordCount = 0;
+        next = 0;
+    }
+
+    private void collect() throws IOException {
+        while (input.incrementToken()) {
+            int ordinal = natureAtt.getNature();
+            if (termAtt.length() < 2 || EXCLUDED.matches(ordinal)) {
+                continue;
+            }
+            scratch.copyChars(termAtt.buffer(), 0, termAtt.length());
+            int id = words.add(scratch.get());
+            if (id < 0) {
+                id = -id - 1;
+            } else {
+                startOffsets = ArrayUtil.grow(startOffsets, id + 1);
+                endOffsets = ArrayUtil.grow(endOffsets, id + 1);
+                startOffsets[id] = offsetAtt.startOffset();
+                endOffsets[id] = offsetAtt.endOffset();
+            }
+            sequence = ArrayUtil.grow(sequence, length + 1);
+            sequence[length++] = id;
+        }
+    }
+
+    private void rank() {
+        int size = words.size();
+        keywords = ArrayUtil.grow(keywords, Math.min(topK, size));
+        if (size == 0) {
+            return;
+        }
+        int edgeCount = buildGraph(size);
+        scores = ArrayUtil.grow(scores, size);
+        nextScores = ArrayUtil.grow(nextScores, size);
+        Arrays.fill(scores, 0, size, 1f);
+        for (int iteration = 0; iteration < iterations && edgeCount > 0; iteration++) {
+            float maxDiff = 0;
+            for (int i = 0; i < size; i++) {
+                float sum = 0;
+                for (int e = edgeStarts[i]; e < edgeStarts[i + 1]; e++) {
+                    int j = (int) edges[e];
+                    sum += scores[j] / degrees[j];
+                }
+                nextScores[i] = (1 - DAMPING) + DAMPING * sum;
+                maxDiff = Math.max(maxDiff, Math.abs(nextScores[i] - scores[i]));
+            }
+            float[] swap = scores;
+            scores = nextScores;
+            nextScores = swap;
+            if (maxDiff <= MIN_DIFF) {
+                break;
+            }
+        }
+        selectTopK(size);
+        sortByOffset();
+    }
+
+    /**
+     * Build the co-occurrence graph as sorted edges grouped by their source.
+     *
+     * @return the number of edges
+     */
+    private int buildGraph(int size) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            int a = sequence[i];
+            for (int j = i + 1; j < length && j < i + window; j++) {
+                int b = sequence[j];
+                if (a != b) {
+                    edges = ArrayUtil.grow(edges, count + 2);
+                    edges[count++] = ((long) a << 32) | b;
+                    edges[count++] = ((long) b << 32) | a;
+                }
+            }
+        }
+        Arrays.sort(edges, 0, count);
+        // 去掉重复的边
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || edges[i] != edges[unique - 1]) {
+                edges[unique++] = edges[i];
+            }
+        }
+        degrees = ArrayUtil.grow(degrees, size);
+        edgeStarts = ArrayUtil.grow(edgeStarts, size + 1);
+        Arrays.fill(degrees, 0, size, 0);
+        for (int i = 0; i < unique; i++) {
+            degrees[(int) (edges[i] >>> 32)]++;
+        }
+        edgeStarts[0] = 0;
+        for (int i = 0; i < size; i++) {
+            edgeStarts[i + 1] = edgeStarts[i] + degrees[i];
+        }
+        return unique;
+    }
+
+    /**
+     * Insert the words into the top K by descending score, the earlier word wins a tie.
+     */
+    private void selectTopK(int size) {
+        int k = Math.min(topK, size);
+        for (int id = 0; id < size; id++) {
+            int i = keywordCount;
+            if (i == k) {
+                if (scores[id] <= scores[keywords[k - 1]]) {
+                    continue;
+                }
+                i--;
+            } else {
+                keywordCount++;
+            }
+            while (i > 0 && scores[keywords[i - 1]] < scores[id]) {
+                keywords[i] = keywords[i - 1];
+                i--;
+            }
+            keywords[i] = id;
+        }
+    }
+
+    /**
+     * Sort the top K by the offsets of their first occurrence, K is small so insertion sort will do.
+     */
+    private void sortByOffset() {
+        for (int i = 1; i < keywordCount; i++) {
+            int id = keywords[i];
+            int j = i;
+            while (j > 0 && startOffsets[keywords[j - 1]] > startOffsets[id]) {
+                keywords[j] = keywords[j - 1];
+                j--;
+            }
+            keywords[j] = id;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import org.apache.lucene.analysis.TokenStream;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.env.Environment;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.analysis.AbstractTokenFilterFactory;
+
+/**
+ * The TextRank keyword filter, see {@link HanLPKeywordsTokenFilter}. The settings are:
+ * <pre>
+ * top_k        the number of keywords, 10 by default
+ * window       the co-occurrence window, 5 by default
+ * iterations   the maximum iterations, 200 by default
+ * </pre>
+ * The part of speech tagging of the tokenizer should be enabled, otherwise only the words shorter than two chars are
+ * skipped.
+ *
+ * @author Rory Ye
+ */
+public class HanLPKeywordsTokenFilterFactory extends AbstractTokenFilterFactory {
+
+    private final int topK;
+
+    private final int window;
+
+    private final int iterations;
+
+    public HanLPKeywordsTokenFilterFactory(IndexSettings indexSettings, Environment env, String name, Settings settings) {
+        super(indexSettings, name, settings);
+        this.topK = settings.getAsInt("top_k", 10);
+        this.window = settings.getAsInt("window", 5);
+        this.iterations = settings.getAsInt("iterations", 200);
+        if (topK < 1 || window < 2 || iterations < 1) {
+            throw new IllegalArgumentException("[" + name + "] requires top_k >= 1, window >= 2 and iterations >= 1");
+        }
+    }
+
+    @Override
+    public TokenStream create(TokenStream tokenStream) {
+        return new HanLPKeywordsTokenFilter(tokenStream, topK, window, iterations);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import com.hankcs.hanlp.dictionary.py.Pinyin;
+import com.hankcs.hanlp.dictionary.py.PinyinDictionary;
+import org.apache.lucene.analysis.TokenFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+
+import java.io.IOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replace the tokens containing Chinese chars with their pinyin, the other tokens are kept as they are.
+ * <p>
+ * The pinyin of a word is looked up in the HanLP pinyin dictionary, a single trie shared by the whole node which
+ * resolves the polyphones by the longest matching word. A token stream is only used by one thread at a time, so every
+ * filter keeps a small LRU cache of the hot words without any locking. The full pinyin, the initials and the
+ * original token are stacked at the same position.
+ *
+ * @author Rory Ye
+ */
+public final class HanLPPinyinTokenFilter extends TokenFilter {
+
+    private final CharTermAttribute termAtt = addAttribute(CharTermAttribute.class);
+
+    private final PositionIncrementAttribute positionAttr = addAttribute(PositionIncrementAttribute.class);
+
+    private final PinyinOutput output;
+
+    private final boolean keepOriginal;
+
+    /**
+     * 热词缓存，值为要输出的各个形式
+     */
+    private final Map<String, String[]> cache;
+
+    /**
+     * 当前token尚未输出的形式
+     */
+    private String[] pending;
+
+    private int pendingIndex;
+
+    private State state;
+
+    public HanLPPinyinTokenFilter(TokenStream input, PinyinOutput output, boolean keepOriginal, int cacheSize) {
+        super(input);
+        this.output = output;
+        this.keepOriginal = keepOriginal;
+        this.cache = new LinkedHashMap<String, String[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public boolean incrementToken() throws IOException {
+        if (pending != null && pendingIndex < pending.length) {
+            restoreState(state);
+            termAtt.setEmpty().append(pending[pendingIndex++]);
+            positionAttr.setPositionIncrement(0);
+            return true;
+        }
+        if (!input.incrementToken()) {
+            return false;
+        }
+        pending = null;
+        if (!containsChinese(termAtt.buffer(), termAtt.length())) {
+            return true;
+        }
+        String term = termAtt.toString();
+        String[] forms = cache.get(term);
+        if (forms == null) {
+            forms = convert(term);
+            cache.put(term, forms);
+        }
+        if (keepOriginal) {
+            state = captureState();
+            pending = forms;
+            pendingIndex = 0;
+        } else {
+            termAtt.setEmpty().append(forms[0]);
+            if (forms.length > 1) {
+                state = captureState();
+                pending = forms;
+                pendingIndex = 1;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        super.reset();
+        pending = null;
+        state = null;
+    }
+
+    private String[] convert(String term) {
+        List<Pinyin> pinyinList = AccessController.doPrivileged(
+                (PrivilegedAction<List<Pinyin>>) () -> PinyinDictionary.convertToPinyin(term, true));
+        StringBuilder full = new StringBuilder(term.length() * 4);
+        StringBuilder initials = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            Pinyin pinyin = i < pinyinList.size() ? pinyinList.get(i) : Pinyin.none5;
+            if (pinyin == Pinyin.none5) {
+                // 非汉字原样保留
+                char c = Character.toLowerCase(term.charAt(i));
+                full.append(c);
+                initials.append(c);
+            } else {
+                full.append(pinyin.getPinyinWithoutTone());
+                initials.append(pinyin.getFirstChar());
+            }
+        }
+        if (output == PinyinOutput.FULL) {
+            return new String[]{full.toString()};
+        }
+        if (output == PinyinOutput.INITIALS || full.length() == initials.length()) {
+            return new String[]{initials.toString()};
+        }
+        return new String[]{full.toString(), initials.toString()};
+    }
+
+    private static boolean containsChinese(char[] buffer, int length) {
+        for (int i = 0; i < length; i++) {
+            if (Character.UnicodeScript.of(buffer[i]) == Character.UnicodeScript.HAN) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
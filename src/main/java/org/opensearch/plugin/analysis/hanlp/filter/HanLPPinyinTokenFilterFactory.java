@@ -0,0 +1,61 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import com.hankcs.hanlp.dictionary.py.PinyinDictionary;
+import org.apache.lucene.analysis.TokenStream;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.env.Environment;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.analysis.AbstractTokenFilterFactory;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+/**
+ * The pinyin filter, see {@link HanLPPinyinTokenFilter}. The settings are:
+ * <pre>
+ * output          full, initials or both, full by default for hanlp_pinyin and initials for hanlp_pinyin_initials
+ * keep_original   keep the original token too, false by default
+ * cache_size      the number of words cached by every token stream, 1024 by default
+ * </pre>
+ *
+ * @author Rory Ye
+ */
+public class HanLPPinyinTokenFilterFactory extends AbstractTokenFilterFactory {
+
+    private final PinyinOutput output;
+
+    private final boolean keepOriginal;
+
+    private final int cacheSize;
+
+    public HanLPPinyinTokenFilterFactory(IndexSettings indexSettings, String name, Settings settings, PinyinOutput defaultOutput) {
+        super(indexSettings, name, settings);
+        this.output = PinyinOutput.fromName(settings.get("output", defaultOutput.getName()));
+        this.keepOriginal = settings.getAsBoolean("keep_original", false);
+        this.cacheSize = settings.getAsInt("cache_size", 1024);
+        // 创建索引时加载拼音词典
+        AccessController.doPrivileged((PrivilegedAction<Object>) () -> PinyinDictionary.convertToPinyin("拼音", true));
+    }
+
+    public static HanLPPinyinTokenFilterFactory getPinyinTokenFilterFactory(IndexSettings indexSettings, Environment env, String name,
+                                                                            Settings settings) {
+        return new HanLPPinyinTokenFilterFactory(indexSettings, name, settings, PinyinOutput.FULL);
+    }
+
+    public static HanLPPinyinTokenFilterFactory getPinyinInitialsTokenFilterFactory(IndexSettings indexSettings, Environment env,
+                                                                                    String name, Settings settings) {
+        return new HanLPPinyinTokenFilterFactory(indexSettings, name, settings, PinyinOutput.INITIALS);
+    }
+
+    @Override
+    public TokenStream create(TokenStream tokenStream) {
+        return new HanLPPinyinTokenFilter(tokenStream, output, keepOriginal, cacheSize);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import com.hankcs.hanlp.corpus.tag.Nature;
+import org.apache.lucene.analysis.FilteringTokenFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.NatureAttribute;
+
+/**
+ * Keep or drop the tokens by their part of speech. The nature ordinal set by the HanLP tokenizer is matched against
+ * the compiled {@link NatureMask}, the type is only parsed for the tokens of the other tokenizers.
+ *
+ * @author Rory Ye
+ */
+public final class HanLPPosTokenFilter extends FilteringTokenFilter {
+
+    private final NatureAttribute natureAtt = addAttribute(NatureAttribute.class);
+
+    private final TypeAttribute typeAtt = addAttribute(TypeAttribute.class);
+
+    private final NatureMask mask;
+
+    /**
+     * true保留匹配的词，false删除匹配的词
+     */
+    private final boolean keep;
+
+    public HanLPPosTokenFilter(TokenStream input, NatureMask mask, boolean keep) {
+        super(input);
+        this.mask = mask;
+        this.keep = keep;
+    }
+
+    @Override
+    protected boolean accept() {
+        int ordinal = natureAtt.getNature();
+        if (ordinal == NatureAttribute.NONE) {
+            Nature nature = Nature.fromString(typeAtt.type());
+            ordinal = nature == null ? NatureAttribute.NONE : nature.ordinal();
+        }
+        return mask.matches(ordinal) == keep;
+    }
+}
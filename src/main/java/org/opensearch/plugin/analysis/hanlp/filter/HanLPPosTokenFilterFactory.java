@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import org.apache.lucene.analysis.TokenStream;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.env.Environment;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.analysis.AbstractTokenFilterFactory;
+
+/**
+ * The part of speech filter, see {@link HanLPPosTokenFilter}. The settings are:
+ * <pre>
+ * natures   the nature prefixes, like [n, v, nr, ns, nt]
+ * mode      keep or drop the matching tokens, keep by default
+ * </pre>
+ * The part of speech tagging of the tokenizer has to be enabled.
+ *
+ * @author Rory Ye
+ */
+public class HanLPPosTokenFilterFactory extends AbstractTokenFilterFactory {
+
+    private final NatureMask mask;
+
+    private final boolean keep;
+
+    public HanLPPosTokenFilterFactory(IndexSettings indexSettings, Environment env, String name, Settings settings) {
+        super(indexSettings, name, settings);
+        this.mask = NatureMask.compile(settings.getAsList("natures"));
+        String mode = settings.get("mode", "keep");
+        if (!"keep".equals(mode) && !"drop".equals(mode)) {
+            throw new IllegalArgumentException("unknown mode [" + mode + "] of [" + name + "], must be keep or drop");
+        }
+        this.keep = "keep".equals(mode);
+    }
+
+    @Override
+    public TokenStream create(TokenStream tokenStream) {
+        return new HanLPPosTokenFilter(tokenStream, mask, keep);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.synonym.SynonymGraphFilter;
+import org.apache.lucene.analysis.synonym.SynonymMap;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.env.Environment;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.analysis.AbstractTokenFilterFactory;
+import org.opensearch.plugin.analysis.hanlp.dictionary.SynonymDictionary;
+
+/**
+ * The synonym filter of the HanLP core synonym dictionary, the synonym map is compiled once per node and shared by
+ * all indices, see {@link SynonymDictionary}. It produces a token graph, so a {@code flatten_graph} filter has to
+ * follow it in an index analyzer. With {@code ignore_case} the tokens are matched against the lowercased synonyms.
+ *
+ * @author Rory Ye
+ */
+public class HanLPSynonymTokenFilterFactory extends AbstractTokenFilterFactory {
+
+    private final boolean ignoreCase;
+
+    public HanLPSynonymTokenFilterFactory(IndexSettings indexSettings, Environment env, String name, Settings settings) {
+        super(indexSettings, name, settings);
+        this.ignoreCase = settings.getAsBoolean("ignore_case", false);
+        // 创建索引时加载同义词表
+        SynonymDictionary.getInstance();
+        if (ignoreCase) {
+            SynonymDictionary.getInstance().getLowerCaseSynonymMap();
+        }
+    }
+
+    @Override
+    public TokenStream create(TokenStream tokenStream) {
+        // 每次取最新的同义词表，重新加载后的词表对新的token流生效
+        SynonymDictionary dictionary = SynonymDictionary.getInstance();
+        SynonymMap map = ignoreCase ? dictionary.getLowerCaseSynonymMap() : dictionary.getSynonymMap();
+        return map == null ? tokenStream : new SynonymGraphFilter(tokenStream, map, ignoreCase);
+    }
+}
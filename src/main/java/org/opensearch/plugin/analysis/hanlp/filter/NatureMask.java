@@ -0,0 +1,116 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import com.hankcs.hanlp.corpus.tag.Nature;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.NaturePayload;
+
+import java.util.List;
+
+/**
+ * A set of natures compiled from nature prefixes to a bitmask over the {@link Nature} ordinals, like {@code n}
+ * for all the nouns and {@code nr} for the person names. The natures created after the mask is compiled, by the
+ * custom dictionaries, are matched by their prefix. The natures read back from the payloads are matched by their
+ * stable {@link NaturePayload} id or by name, never by the ordinal of the node that indexed them.
+ *
+ * @author Rory Ye
+ */
+public class NatureMask {
+
+    private final String[] prefixes;
+
+    private final long[] bits;
+
+    /**
+     * 按内置词性表id的位图
+     */
+    private final long[] builtInBits;
+
+    /**
+     * 编译时的词性数量
+     */
+    private final int size;
+
+    private NatureMask(String[] prefixes) {
+        this.prefixes = prefixes;
+        Nature[] natures = Nature.values();
+        this.size = natures.length;
+        this.bits = new long[(size + 63) >>> 6];
+        for (Nature nature : natures) {
+            if (startsWithAny(nature.toString())) {
+                bits[nature.ordinal() >>> 6] |= 1L << nature.ordinal();
+            }
+        }
+        this.builtInBits = new long[(NaturePayload.size() + 63) >>> 6];
+        for (int id = 0; id < NaturePayload.size(); id++) {
+            if (startsWithAny(NaturePayload.nameOf(id))) {
+                builtInBits[id >>> 6] |= 1L << id;
+            }
+        }
+    }
+
+    /**
+     * Compile the prefixes.
+     *
+     * @param prefixes the nature prefixes
+     * @return the mask
+     */
+    public static NatureMask compile(List<String> prefixes) {
+        if (prefixes.isEmpty()) {
+            throw new IllegalArgumentException("at least one nature is required");
+        }
+        return new NatureMask(prefixes.toArray(new String[0]));
+    }
+
+    /**
+     * Whether the nature is in the set.
+     *
+     * @param ordinal the nature ordinal
+     * @return in the set or not, {@code false} for a negative ordinal
+     */
+    public boolean matches(int ordinal) {
+        if (ordinal < 0) {
+            return false;
+        }
+        if (ordinal < size) {
+            return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+        }
+        // 编译后新增的词性
+        Nature[] natures = Nature.values();
+        return ordinal < natures.length && startsWithAny(natures[ordinal].toString());
+    }
+
+    /**
+     * Whether the built-in nature is in the set.
+     *
+     * @param id the id in the {@link NaturePayload} table
+     * @return in the set or not, {@code false} for an unknown id
+     */
+    public boolean matchesBuiltIn(int id) {
+        return id >= 0 && id < NaturePayload.size() && (builtInBits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Whether the nature is in the set.
+     *
+     * @param name the nature name
+     * @return in the set or not, {@code false} for {@code null}
+     */
+    public boolean matches(String name) {
+        return name != null && startsWithAny(name);
+    }
+
+    private boolean startsWithAny(String name) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
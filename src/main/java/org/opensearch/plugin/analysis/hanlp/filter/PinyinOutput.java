@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import java.util.Locale;
+
+/**
+ * The forms emitted by the pinyin filter.
+ *
+ * @author Rory Ye
+ */
+public enum PinyinOutput {
+
+    /**
+     * 全拼，如zhangsan
+     */
+    FULL,
+
+    /**
+     * 首字母，如zs
+     */
+    INITIALS,
+
+    /**
+     * 全拼及首字母
+     */
+    BOTH;
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static PinyinOutput fromName(String name) {
+        for (PinyinOutput output : values()) {
+            if (output.getName().equals(name)) {
+                return output;
+            }
+        }
+        throw new IllegalArgumentException("unknown pinyin output [" + name + "], must be one of full, initials or both");
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.ingest;
+
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.util.CloseableThreadLocal;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.ingest.AbstractProcessor;
+import org.opensearch.ingest.IngestDocument;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * The base of the HanLP ingest processors, which analyze a text field into a target field off the write thread.
+ * <p>
+ * Every document is handed to the bounded HanLP thread pool and back to the pipeline once it is done, the ingest
+ * service goes on with the next document of the bulk request meanwhile, so the documents of a bulk request are
+ * analyzed in parallel. A document rejected by the full pool is analyzed inline on the calling thread instead, which
+ * slows the bulk request down to the pace of the pool rather than failing the document.
+ * <p>
+ * Every thread reuses one tokenizer of the processor, built from the shared {@link SegmentTemplate}.
+ *
+ * @author Rory Ye
+ */
+public abstract class AbstractHanLPProcessor extends AbstractProcessor {
+
+    private final String field;
+
+    private final String targetField;
+
+    private final boolean ignoreMissing;
+
+    private final Consumer<Runnable> executor;
+
+    private final ThreadContext threadContext;
+
+    private final ProcessorStats stats;
+
+    /**
+     * 所有文档共享的预构建分词器
+     */
+    private final SegmentTemplate template;
+
+    /**
+     * 每个线程复用的分词器
+     */
+    private final CloseableThreadLocal<Tokenizer> tokenizers = new CloseableThreadLocal<>();
+
+    protected AbstractHanLPProcessor(String tag, String description, String field, String targetField, boolean ignoreMissing,
+                                     SegmentTemplate template, Consumer<Runnable> executor, ThreadContext threadContext) {
+        super(tag, description);
+        this.template = template;
+        this.field = field;
+        this.targetField = targetField;
+        this.ignoreMissing = ignoreMissing;
+        this.executor = executor;
+        this.threadContext = threadContext;
+        this.stats = ProcessorStats.of(getType(), tag, field, targetField);
+    }
+
+    /**
+     * Analyze a text.
+     *
+     * @param text the text
+     * @return the value written into the target field
+     * @throws Exception if can not analyze the text
+     */
+    protected abstract Object process(String text) throws Exception;
+
+    /**
+     * The tokenizer of the current thread reset to the text, the caller has to {@link Tokenizer#end() end} and
+     * {@link Tokenizer#close() close} it once done, also on failure, so it can be reused for the next text.
+     *
+     * @param text the text
+     * @return the tokenizer
+     * @throws IOException if can not reset the tokenizer
+     */
+    protected Tokenizer tokenizer(String text) throws IOException {
+        Tokenizer tokenizer = tokenizers.get();
+        if (tokenizer == null) {
+            tokenizer = TokenizerBuilder.tokenizer(template);
+            tokenizers.set(tokenizer);
+        }
+        tokenizer.setReader(new StringReader(text));
+        try {
+            tokenizer.reset();
+        } catch (IOException | RuntimeException e) {
+            tokenizer.close();
+            throw e;
+        }
+        return tokenizer;
+    }
+
+    @Override
+    public void execute(IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
+        Object value;
+        try {
+            value = readValue(ingestDocument);
+        } catch (Exception e) {
+            handler.accept(null, e);
+            return;
+        }
+        if (value == null) {
+            handler.accept(ingestDocument, null);
+            return;
+        }
+        long submitted = System.nanoTime();
+        Runnable task = () -> {
+            try {
+                ingestDocument.setFieldValue(targetField, processValue(value, System.nanoTime() - submitted));
+            } catch (Exception e) {
+                handler.accept(null, e);
+                return;
+            }
+            handler.accept(ingestDocument, null);
+        };
+        try {
+            executor.accept(threadContext.preserveContext(task));
+        } catch (RejectedExecutionException e) {
+            // 线程池已满，在当前线程处理
+            task.run();
+        } catch (Exception e) {
+            handler.accept(null, e);
+        }
+    }
+
+    @Override
+    public IngestDocument execute(IngestDocument ingestDocument) throws Exception {
+        Object value = readValue(ingestDocument);
+        if (value != null) {
+            ingestDocument.setFieldValue(targetField, processValue(value, 0));
+        }
+        return ingestDocument;
+    }
+
+    /**
+     * The value of the field, {@code null} if it is missing and ignored.
+     */
+    private Object readValue(IngestDocument ingestDocument) {
+        Object value = ingestDocument.getFieldValue(field, Object.class, ignoreMissing);
+        if (value == null && !ignoreMissing) {
+            throw new IllegalArgumentException("field [" + field + "] is null, cannot be processed by [" + getType() + "]");
+        }
+        return value;
+    }
+
+    private Object processValue(Object value, long queueNanos) throws Exception {
+        long start = System.nanoTime();
+        try {
+            Object processed;
+            long length = 0;
+            if (value instanceof String) {
+                length = ((String) value).length();
+                processed = process((String) value);
+            } else if (value instanceof List) {
+                List<Object> list = new ArrayList<>(((List<?>) value).size());
+                for (Object item : (List<?>) value) {
+                    if (item == null) {
+                        list.add(null);
+                    } else {
+                        String text = item.toString();
+                        length += text.length();
+                        list.add(process(text));
+                    }
+                }
+                processed = list;
+            } else {
+                throw new IllegalArgumentException("field [" + field + "] of type [" + value.getClass().getName()
+                        + "] cannot be processed by [" + getType() + "], must be a string or a list of strings");
+            }
+            stats.onSuccess(length, queueNanos, System.nanoTime() - start);
+            return processed;
+        } catch (Exception e) {
+            stats.onFailure(queueNanos, System.nanoTime() - start);
+            throw e;
+        }
+    }
+}
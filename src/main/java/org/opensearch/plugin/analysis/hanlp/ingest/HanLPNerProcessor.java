@@ -0,0 +1,164 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.ingest;
+
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.env.Environment;
+import org.opensearch.ingest.ConfigurationUtils;
+import org.opensearch.ingest.Processor;
+import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Recognize the person, place and organization names of a text field on the ingest node and write them with their
+ * offsets into the target field:
+ * <pre>
+ * "hanlp_ner": {
+ *   "field": "content",
+ *   "target_field": "entities",
+ *   "tokenizer": "nlp",
+ *   "ignore_missing": false
+ * }
+ * </pre>
+ * gives
+ * <pre>
+ * "entities": {
+ *   "person": [ { "text": "张伟", "start": 0, "end": 2 } ],
+ *   "place": [ ... ],
+ *   "organization": [ ... ]
+ * }
+ * </pre>
+ * The names are the terms tagged {@code nr*}, {@code ns*} and {@code nt*} by the recognizers of the tokenizer, which
+ * are all enabled, the models are the singletons shared with the tokenizers of the node.
+ *
+ * @author Rory Ye
+ */
+public final class HanLPNerProcessor extends AbstractHanLPProcessor {
+
+    public static final String TYPE = "hanlp_ner";
+
+    private static final String PERSON = "person";
+
+    private static final String PLACE = "place";
+
+    private static final String ORGANIZATION = "organization";
+
+    HanLPNerProcessor(String tag, String description, String field, String targetField, boolean ignoreMissing,
+                      SegmentTemplate template, Consumer<Runnable> executor, ThreadContext threadContext) {
+        super(tag, description, field, targetField, ignoreMissing, template, executor, threadContext);
+    }
+
+    @Override
+    protected Object process(String text) throws IOException {
+        Map<String, List<Map<String, Object>>> entities = new LinkedHashMap<>();
+        entities.put(PERSON, new ArrayList<>());
+        entities.put(PLACE, new ArrayList<>());
+        entities.put(ORGANIZATION, new ArrayList<>());
+        Tokenizer tokenizer = tokenizer(text);
+        try {
+            CharTermAttribute termAtt = tokenizer.addAttribute(CharTermAttribute.class);
+            OffsetAttribute offsetAtt = tokenizer.addAttribute(OffsetAttribute.class);
+            TypeAttribute typeAtt = tokenizer.addAttribute(TypeAttribute.class);
+            while (tokenizer.incrementToken()) {
+                String category = category(typeAtt.type());
+                if (category == null) {
+                    continue;
+                }
+                Map<String, Object> entity = new HashMap<>(4);
+                entity.put("text", termAtt.toString());
+                entity.put("start", offsetAtt.startOffset());
+                entity.put("end", offsetAtt.endOffset());
+                entities.get(category).add(entity);
+            }
+            tokenizer.end();
+        } finally {
+            tokenizer.close();
+        }
+        return entities;
+    }
+
+    /**
+     * The entity category of the nature, {@code null} if it is not a name.
+     */
+    private static String category(String nature) {
+        if (nature.startsWith("nr")) {
+            return PERSON;
+        } else if (nature.startsWith("ns")) {
+            return PLACE;
+        } else if (nature.startsWith("nt")) {
+            return ORGANIZATION;
+        }
+        return null;
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    /**
+     * The factory of the processor.
+     */
+    public static final class Factory implements Processor.Factory {
+
+        private final Environment environment;
+
+        private final Consumer<Runnable> executor;
+
+        private final ThreadContext threadContext;
+
+        public Factory(Processor.Parameters parameters, Consumer<Runnable> executor) {
+            this.environment = parameters.env;
+            this.executor = executor;
+            this.threadContext = parameters.threadContext;
+        }
+
+        @Override
+        public HanLPNerProcessor create(Map<String, Processor.Factory> registry, String tag, String description,
+                                        Map<String, Object> config) {
+            String field = ConfigurationUtils.readStringProperty(TYPE, tag, config, "field");
+            String targetField = ConfigurationUtils.readStringProperty(TYPE, tag, config, "target_field", "entities");
+            String tokenizer = ConfigurationUtils.readStringProperty(TYPE, tag, config, "tokenizer", TokenizerType.NLP.getName());
+            boolean ignoreMissing = ConfigurationUtils.readBooleanProperty(TYPE, tag, config, "ignore_missing", false);
+            Map<String, Object> tokenizerSettings = ConfigurationUtils.readOptionalMap(TYPE, tag, config, "tokenizer_settings");
+            TokenizerType type;
+            try {
+                type = TokenizerType.fromName(tokenizer);
+            } catch (IllegalArgumentException e) {
+                throw ConfigurationUtils.newConfigurationException(TYPE, tag, "tokenizer", e.getMessage());
+            }
+            Settings.Builder settings = Settings.builder();
+            if (tokenizerSettings != null) {
+                settings.loadFromMap(tokenizerSettings);
+            }
+            // 识别所需的选项不允许关闭
+            settings.put("enable_custom_config", true)
+                    .put("enable_part_of_speech_tagging", true)
+                    .put("enable_name_recognize", true)
+                    .put("enable_place_recognize", true)
+                    .put("enable_organization_recognize", true)
+                    .put("enable_offset", true);
+            SegmentTemplate template = SegmentTemplate.of(type, new Configuration(environment, settings.build(), null));
+            return new HanLPNerProcessor(tag, description, field, targetField, ignoreMissing, template, executor, threadContext);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.ingest;
+
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.env.Environment;
+import org.opensearch.ingest.ConfigurationUtils;
+import org.opensearch.ingest.Processor;
+import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerType;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Segment a text field on the ingest node and write the space joined tokens, optionally as {@code word/nature}, into
+ * the target field, so the data nodes only have to index it with a whitespace tokenizer:
+ * <pre>
+ * "hanlp_segment": {
+ *   "field": "content",
+ *   "target_field": "content_segmented",
+ *   "tokenizer": "crf",
+ *   "with_pos": false,
+ *   "ignore_missing": false,
+ *   "tokenizer_settings": { "enable_custom_config": true }
+ * }
+ * </pre>
+ * The tokenizer is one of the {@link TokenizerType}s configured by the same settings as the tokenizer of an index, see
+ * {@link AbstractHanLPProcessor} for how the documents are segmented in parallel.
+ *
+ * @author Rory Ye
+ */
+public final class HanLPSegmentProcessor extends AbstractHanLPProcessor {
+
+    public static final String TYPE = "hanlp_segment";
+
+    private final boolean withPos;
+
+    HanLPSegmentProcessor(String tag, String description, String field, String targetField, boolean withPos, boolean ignoreMissing,
+                          SegmentTemplate template, Consumer<Runnable> executor, ThreadContext threadContext) {
+        super(tag, description, field, targetField, ignoreMissing, template, executor, threadContext);
+        this.withPos = withPos;
+    }
+
+    @Override
+    protected Object process(String text) throws IOException {
+        return segment(text);
+    }
+
+    private String segment(String text) throws IOException {
+        StringBuilder builder = new StringBuilder(text.length() * 2);
+        Tokenizer tokenizer = tokenizer(text);
+        try {
+            CharTermAttribute termAtt = tokenizer.addAttribute(CharTermAttribute.class);
+            TypeAttribute typeAtt = tokenizer.addAttribute(TypeAttribute.class);
+            while (tokenizer.incrementToken()) {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(termAtt);
+                if (withPos) {
+                    builder.append('/').append(typeAtt.type());
+                }
+            }
+            tokenizer.end();
+        } finally {
+            tokenizer.close();
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    /**
+     * The factory of the processor.
+     */
+    public static final class Factory implements Processor.Factory {
+
+        private final Environment environment;
+
+        private final Consumer<Runnable> executor;
+
+        private final ThreadContext threadContext;
+
+        public Factory(Processor.Parameters parameters, Consumer<Runnable> executor) {
+            this.environment = parameters.env;
+            this.executor = executor;
+            this.threadContext = parameters.threadContext;
+        }
+
+        @Override
+        public HanLPSegmentProcessor create(Map<String, Processor.Factory> registry, String tag, String description,
+                                            Map<String, Object> config) {
+            String field = ConfigurationUtils.readStringProperty(TYPE, tag, config, "field");
+            String targetField = ConfigurationUtils.readStringProperty(TYPE, tag, config, "target_field", field + "_segmented");
+            String tokenizer = ConfigurationUtils.readStringProperty(TYPE, tag, config, "tokenizer", TokenizerType.HANLP.getName());
+            boolean withPos = ConfigurationUtils.readBooleanProperty(TYPE, tag, config, "with_pos", false);
+            boolean ignoreMissing = ConfigurationUtils.readBooleanProperty(TYPE, tag, config, "ignore_missing", false);
+            Map<String, Object> tokenizerSettings = ConfigurationUtils.readOptionalMap(TYPE, tag, config, "tokenizer_settings");
+            TokenizerType type;
+            try {
+                type = TokenizerType.fromName(tokenizer);
+            } catch (IllegalArgumentException e) {
+                throw ConfigurationUtils.newConfigurationException(TYPE, tag, "tokenizer", e.getMessage());
+            }
+            Settings settings = Settings.builder()
+                    .loadFromMap(tokenizerSettings == null ? Collections.emptyMap() : tokenizerSettings)
+                    .build();
+            SegmentTemplate template = SegmentTemplate.of(type, new Configuration(environment, settings, null));
+            return new HanLPSegmentProcessor(tag, description, field, targetField, withPos, ignoreMissing, template, executor,
+                    threadContext);
+        }
+    }
+}
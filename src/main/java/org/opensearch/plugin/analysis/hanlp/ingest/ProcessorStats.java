@@ -0,0 +1,191 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.ingest;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The timing stats of the HanLP ingest processors of the local node, kept by processor type, tag, field and target
+ * field so they survive the processors being created again when a pipeline is updated. The processors alike in all of
+ * them share their stats, even in different pipelines, tag them to tell them apart. The time spent waiting for the
+ * thread pool is kept apart from the time spent processing.
+ * <p>
+ * The registry only refers weakly to the stats, every processor refers to its own, so the stats of the processors
+ * removed with their pipelines are dropped once garbage collected. The cluster wide stats are served by
+ * {@code GET _hanlp/_stats}.
+ *
+ * @author Rory Ye
+ */
+public class ProcessorStats implements Writeable, ToXContentObject {
+
+    private static final Map<String, WeakReference<ProcessorStats>> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * The stats of the processor, the processor has to keep them.
+     *
+     * @param type        the processor type
+     * @param tag         the processor tag, may be {@code null}
+     * @param field       the field
+     * @param targetField the target field
+     * @return the stats
+     */
+    public static ProcessorStats of(String type, String tag, String field, String targetField) {
+        String key = key(type, tag, field, targetField);
+        while (true) {
+            WeakReference<ProcessorStats> reference = STATS.computeIfAbsent(key,
+                    k -> new WeakReference<>(new ProcessorStats(type, tag, field, targetField)));
+            ProcessorStats stats = reference.get();
+            if (stats != null) {
+                return stats;
+            }
+            // 已被回收，替换后重试
+            STATS.remove(key, reference);
+        }
+    }
+
+    public static Collection<ProcessorStats> all() {
+        List<ProcessorStats> all = new ArrayList<>(STATS.size());
+        for (Map.Entry<String, WeakReference<ProcessorStats>> entry : STATS.entrySet()) {
+            ProcessorStats stats = entry.getValue().get();
+            if (stats == null) {
+                STATS.remove(entry.getKey(), entry.getValue());
+            } else {
+                all.add(stats);
+            }
+        }
+        return all;
+    }
+
+    private final String type;
+
+    private final String tag;
+
+    private final String field;
+
+    private final String targetField;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder chars = new LongAdder();
+
+    private final LongAdder timeInNanos = new LongAdder();
+
+    private final LongAdder queueTimeInNanos = new LongAdder();
+
+    private ProcessorStats(String type, String tag, String field, String targetField) {
+        this.type = type;
+        this.tag = tag;
+        this.field = field;
+        this.targetField = targetField;
+    }
+
+    public ProcessorStats(StreamInput in) throws IOException {
+        this.type = in.readString();
+        this.tag = in.readOptionalString();
+        this.field = in.readString();
+        this.targetField = in.readString();
+        this.count.add(in.readVLong());
+        this.failed.add(in.readVLong());
+        this.chars.add(in.readVLong());
+        this.timeInNanos.add(in.readVLong());
+        this.queueTimeInNanos.add(in.readVLong());
+    }
+
+    void onSuccess(long length, long queueNanos, long nanos) {
+        count.increment();
+        chars.add(length);
+        queueTimeInNanos.add(queueNanos);
+        timeInNanos.add(nanos);
+    }
+
+    void onFailure(long queueNanos, long nanos) {
+        count.increment();
+        failed.increment();
+        queueTimeInNanos.add(queueNanos);
+        timeInNanos.add(nanos);
+    }
+
+    /**
+     * Add the stats of the same processor of another node.
+     *
+     * @param other the stats
+     */
+    public void add(ProcessorStats other) {
+        count.add(other.count.sum());
+        failed.add(other.failed.sum());
+        chars.add(other.chars.sum());
+        timeInNanos.add(other.timeInNanos.sum());
+        queueTimeInNanos.add(other.queueTimeInNanos.sum());
+    }
+
+    /**
+     * A copy to add the stats of the other nodes to.
+     *
+     * @return the copy
+     */
+    public ProcessorStats copy() {
+        ProcessorStats copy = new ProcessorStats(type, tag, field, targetField);
+        copy.add(this);
+        return copy;
+    }
+
+    public String getKey() {
+        return key(type, tag, field, targetField);
+    }
+
+    private static String key(String type, String tag, String field, String targetField) {
+        return (tag == null ? type : type + ":" + tag) + ":" + field + ">" + targetField;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(type);
+        out.writeOptionalString(tag);
+        out.writeString(field);
+        out.writeString(targetField);
+        out.writeVLong(count.sum());
+        out.writeVLong(failed.sum());
+        out.writeVLong(chars.sum());
+        out.writeVLong(timeInNanos.sum());
+        out.writeVLong(queueTimeInNanos.sum());
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("type", type);
+        if (tag != null) {
+            builder.field("tag", tag);
+        }
+        builder.field("field", field);
+        builder.field("target_field", targetField);
+        builder.field("count", count.sum());
+        builder.field("failed", failed.sum());
+        builder.field("chars", chars.sum());
+        builder.field("time_in_millis", TimeUnit.NANOSECONDS.toMillis(timeInNanos.sum()));
+        builder.field("queue_time_in_millis", TimeUnit.NANOSECONDS.toMillis(queueTimeInNanos.sum()));
+        builder.endObject();
+        return builder;
+    }
+}
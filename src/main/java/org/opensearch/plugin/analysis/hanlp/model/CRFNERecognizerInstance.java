@@ -46,7 +46,7 @@ public class CRFNERecognizerInstance {
         return instance;
     }
 
-    private final CRFNERecognizer recognizer;
+    private volatile CRFNERecognizer recognizer;
 
     private CRFNERecognizerInstance() {
         if (FileSystemUtils.exists(Paths.get(
@@ -74,4 +74,13 @@ public class CRFNERecognizerInstance {
     public CRFNERecognizer getRecognizer() {
         return recognizer;
     }
+
+    /**
+     * Replace the model, the tokenizers built afterwards use the new one.
+     *
+     * @param recognizer the new model
+     */
+    void swap(CRFNERecognizer recognizer) {
+        this.recognizer = recognizer;
+    }
 }
@@ -41,7 +41,7 @@ public class CRFPOSTaggerInstance {
         return instance;
     }
 
-    private final CRFPOSTagger tagger;
+    private volatile CRFPOSTagger tagger;
 
     private CRFPOSTaggerInstance() {
         if (FileSystemUtils.exists(Paths.get(
@@ -69,4 +69,13 @@ public class CRFPOSTaggerInstance {
     public CRFPOSTagger getTagger() {
         return tagger;
     }
+
+    /**
+     * Replace the model, the tokenizers built afterwards use the new one.
+     *
+     * @param tagger the new model
+     */
+    void swap(CRFPOSTagger tagger) {
+        this.tagger = tagger;
+    }
 }
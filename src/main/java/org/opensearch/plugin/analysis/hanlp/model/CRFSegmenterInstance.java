@@ -41,7 +41,7 @@ public class CRFSegmenterInstance {
         return instance;
     }
 
-    private final CRFSegmenter segmenter;
+    private volatile CRFSegmenter segmenter;
 
     private CRFSegmenterInstance() {
         if (FileSystemUtils.exists(Paths.get(
@@ -64,4 +64,13 @@ public class CRFSegmenterInstance {
     public CRFSegmenter getSegmenter() {
         return segmenter;
     }
+
+    /**
+     * Replace the model, the tokenizers built afterwards use the new one.
+     *
+     * @param segmenter the new model
+     */
+    void swap(CRFSegmenter segmenter) {
+        this.segmenter = segmenter;
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import com.hankcs.hanlp.corpus.io.ByteArray;
+import com.hankcs.hanlp.model.perceptron.common.TaskType;
+import com.hankcs.hanlp.model.perceptron.feature.FeatureMap;
+import com.hankcs.hanlp.model.perceptron.tagset.CWSTagSet;
+import com.hankcs.hanlp.model.perceptron.tagset.NERTagSet;
+import com.hankcs.hanlp.model.perceptron.tagset.POSTagSet;
+import com.hankcs.hanlp.model.perceptron.tagset.TagSet;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The feature map read from a memory-mapped open addressing table.
+ * <p>
+ * Every slot holds the 64-bit hash of a feature string and its id, the feature strings themselves are not stored.
+ * A lookup probes the slots linearly from the hash, so it touches one or two cache lines of the page cache and
+ * nothing on the heap. Without the strings the features can not be listed, {@link #entrySet()} throws an
+ * {@link UnsupportedOperationException}, so the map only serves lookups of a read only {@link MappedLinearModel}.
+ *
+ * @author Rory Ye
+ */
+public class MappedFeatureMap extends FeatureMap {
+
+    /**
+     * 每个槽位：8字节哈希 + 4字节id
+     */
+    static final int SLOT_BYTES = 12;
+
+    /**
+     * 空槽位的id
+     */
+    static final int EMPTY = -1;
+
+    private final ByteBuffer buffer;
+
+    private final int tableOffset;
+
+    private final int mask;
+
+    private final int size;
+
+    MappedFeatureMap(TagSet tagSet, ByteBuffer buffer, int tableOffset, int capacity, int size) {
+        super(tagSet);
+        this.buffer = buffer;
+        this.tableOffset = tableOffset;
+        this.mask = capacity - 1;
+        this.size = size;
+    }
+
+    @Override
+    public int idOf(String string) {
+        long hash = hash(string);
+        int slot = (int) hash & mask;
+        while (true) {
+            int offset = tableOffset + slot * SLOT_BYTES;
+            int id = buffer.getInt(offset + 8);
+            if (id == EMPTY) {
+                return -1;
+            }
+            if (buffer.getLong(offset) == hash) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Integer>> entrySet() {
+        throw new UnsupportedOperationException("the feature strings of a mapped model are not stored, they can not be listed");
+    }
+
+    /**
+     * FNV-1a over the chars followed by the murmur3 finalizer.
+     *
+     * @param string the feature
+     * @return 64-bit hash
+     */
+    static long hash(String string) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < string.length(); i++) {
+            h ^= string.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Read the tag set written by {@link TagSet#save}, the same way {@code FeatureMap#loadTagSet} does.
+     *
+     * @param byteArray the bytes
+     * @return the tag set
+     */
+    static TagSet readTagSet(ByteArray byteArray) {
+        TaskType type = TaskType.values()[byteArray.nextInt()];
+        TagSet tagSet;
+        switch (type) {
+            case CWS:
+                tagSet = new CWSTagSet();
+                break;
+            case POS:
+                tagSet = new POSTagSet();
+                break;
+            case NER:
+                tagSet = new NERTagSet();
+                break;
+            default:
+                tagSet = new TagSet(type);
+                break;
+        }
+        tagSet.load(byteArray);
+        return tagSet;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import java.util.Locale;
+
+/**
+ * The runtime format of the perceptron models.
+ *
+ * @author Rory Ye
+ */
+public enum ModelFormat {
+
+    /**
+     * HanLP的原始格式，权重全部加载到堆内
+     */
+    DEFAULT,
+
+    /**
+     * 编译后的内存映射格式，特征哈希表和float权重都在堆外
+     */
+    MMAP,
+
+    /**
+     * 内存映射格式，权重按特征块量化为int8
+     */
+    INT8;
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ModelFormat fromName(String name) {
+        for (ModelFormat format : values()) {
+            if (format.getName().equals(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("unknown hanlp model format [" + name + "]");
+    }
+}
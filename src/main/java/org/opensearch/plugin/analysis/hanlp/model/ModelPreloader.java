@@ -0,0 +1,232 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import com.hankcs.hanlp.seg.Segment;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.plugin.analysis.hanlp.config.PluginSettings;
+
+import java.io.IOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Preload the models and dictionaries configured by {@code hanlp.preload.resources} in the background at node start,
+ * then run a few segmentation passes over them so the hot paths are compiled before the first real request.
+ * <p>
+ * The resources are loaded concurrently on a bounded pool of {@code hanlp.preload.threads} threads, so the whole
+ * preload takes about as long as the slowest resource. The start and duration of every resource are recorded as a
+ * timeline. The node is ready once all configured resources are loaded and warmed up, see {@link #isReady()}.
+ *
+ * @author Rory Ye
+ */
+public class ModelPreloader implements ToXContentObject {
+
+    private static final Logger logger = LogManager.getLogger(ModelPreloader.class);
+
+    /**
+     * 预热用的文本
+     */
+    private static final String[] WARM_UP_TEXTS = {
+            "商品和服务，结婚的和尚未结婚的确实在干扰分词啊",
+            "2023年9月，张三在北京市海淀区的清华大学参加了OpenSearch技术交流会，门票售价99.5元。",
+            "攻城狮逆袭单身狗，迎娶白富美，走上人生巅峰",
+            "中华人民共和国国务院总理在人民大会堂会见了来访的外国代表团",
+            "The quick brown fox jumps over the lazy dog, HanLP 1.8.4 版本支持感知机和CRF模型"
+    };
+
+    public enum State {
+        WAITING, LOADING, LOADED, MISSING, FAILED
+    }
+
+    private final Settings settings;
+
+    private final List<PreloadResource> resources;
+
+    private final int threads;
+
+    private final int warmUpIterations;
+
+    private final Map<PreloadResource, Timeline> timelines = new LinkedHashMap<>();
+
+    private volatile long startNanos;
+
+    private volatile long tookInMillis = -1;
+
+    private volatile boolean finished = false;
+
+    public ModelPreloader(Settings settings) {
+        this.settings = settings;
+        this.resources = PreloadResource.parse(PluginSettings.PRELOAD_RESOURCES.get(settings));
+        this.threads = Math.min(PluginSettings.PRELOAD_THREADS.get(settings), Math.max(1, resources.size()));
+        this.warmUpIterations = PluginSettings.PRELOAD_WARM_UP_ITERATIONS.get(settings);
+        for (PreloadResource resource : resources) {
+            timelines.put(resource, new Timeline());
+        }
+        if (resources.isEmpty()) {
+            finished = true;
+        }
+    }
+
+    /**
+     * Start preloading on a bounded pool, which is shut down once all resources are preloaded.
+     */
+    public void start() {
+        if (resources.isEmpty()) {
+            return;
+        }
+        logger.info("hanlp begin preload {} with {} threads", resources, threads);
+        startNanos = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, OpenSearchExecutors.daemonThreadFactory(settings, "hanlp_preload"));
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[resources.size()];
+        for (int i = 0; i < futures.length; i++) {
+            PreloadResource resource = resources.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> preload(resource), pool);
+        }
+        CompletableFuture.allOf(futures).whenComplete((ignore, e) -> {
+            pool.shutdown();
+            tookInMillis = TimeValue.nsecToMSec(System.nanoTime() - startNanos);
+            finished = true;
+            logger.info("hanlp preload finished in [{}ms], sum of resources: [{}ms], ready: {}", tookInMillis, sumOfResourcesInMillis(),
+                    isReady());
+        });
+    }
+
+    private void preload(PreloadResource resource) {
+        Timeline timeline = timelines.get(resource);
+        long start = System.nanoTime();
+        synchronized (this) {
+            timeline.state = State.LOADING;
+            timeline.thread = Thread.currentThread().getName();
+            timeline.startOffsetInMillis = TimeValue.nsecToMSec(start - startNanos);
+        }
+        State state;
+        try {
+            boolean loaded = AccessController.doPrivileged((PrivilegedAction<Boolean>) resource::load);
+            if (loaded) {
+                long loadedNanos = System.nanoTime();
+                synchronized (this) {
+                    timeline.loadInMillis = TimeValue.nsecToMSec(loadedNanos - start);
+                }
+                warmUp(resource);
+            }
+            state = loaded ? State.LOADED : State.MISSING;
+        } catch (Exception | LinkageError | OutOfMemoryError e) {
+            // HanLP的词典在静态初始化中失败时抛出ExceptionInInitializerError，之后再访问抛出NoClassDefFoundError
+            logger.error(() -> new ParameterizedMessage("hanlp can not preload [{}]", resource.getName()), e);
+            state = State.FAILED;
+        }
+        long took = TimeValue.nsecToMSec(System.nanoTime() - start);
+        synchronized (this) {
+            timeline.state = state;
+            timeline.tookInMillis = took;
+        }
+        logger.debug("hanlp preload [{}] {} in [{}ms]", resource.getName(), state, took);
+    }
+
+    private void warmUp(PreloadResource resource) {
+        if (warmUpIterations == 0) {
+            return;
+        }
+        Segment segment = AccessController.doPrivileged((PrivilegedAction<Segment>) resource::warmUpSegment);
+        if (segment == null) {
+            return;
+        }
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            for (int i = 0; i < warmUpIterations; i++) {
+                for (String text : WARM_UP_TEXTS) {
+                    segment.seg(text);
+                }
+            }
+            return null;
+        });
+    }
+
+    private synchronized long sumOfResourcesInMillis() {
+        long sum = 0;
+        for (Timeline timeline : timelines.values()) {
+            sum += Math.max(0, timeline.tookInMillis);
+        }
+        return sum;
+    }
+
+    /**
+     * All configured resources are preloaded, the resources which do not exist are ignored. A resource which is not
+     * {@link State#LOADED} or {@link State#MISSING} once the preload finished, failed or still loading, makes the node
+     * not ready.
+     *
+     * @return ready or not
+     */
+    public synchronized boolean isReady() {
+        if (!finished) {
+            return false;
+        }
+        return timelines.values().stream().allMatch(timeline -> timeline.state == State.LOADED || timeline.state == State.MISSING);
+    }
+
+    @Override
+    public synchronized XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("ready", isReady());
+        builder.field("threads", threads);
+        if (tookInMillis >= 0) {
+            builder.field("took_in_millis", tookInMillis);
+            builder.field("sum_of_resources_in_millis", sumOfResourcesInMillis());
+        }
+        builder.startObject("resources");
+        for (Map.Entry<PreloadResource, Timeline> entry : timelines.entrySet()) {
+            Timeline timeline = entry.getValue();
+            builder.startObject(entry.getKey().getName());
+            builder.field("state", timeline.state.name().toLowerCase(Locale.ROOT));
+            if (timeline.thread != null) {
+                builder.field("thread", timeline.thread);
+                builder.field("start_offset_in_millis", timeline.startOffsetInMillis);
+            }
+            if (timeline.loadInMillis >= 0) {
+                builder.field("load_in_millis", timeline.loadInMillis);
+            }
+            if (timeline.tookInMillis >= 0) {
+                builder.field("took_in_millis", timeline.tookInMillis);
+            }
+            builder.endObject();
+        }
+        builder.endObject();
+        builder.endObject();
+        return builder;
+    }
+
+    /**
+     * 单个资源的加载时间线，相对预加载开始的偏移
+     */
+    private static class Timeline {
+
+        private State state = State.WAITING;
+
+        private String thread;
+
+        private long startOffsetInMillis = -1;
+
+        private long loadInMillis = -1;
+
+        private long tookInMillis = -1;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.unit.TimeValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Swap the models at runtime without restarting the node.
+ * <p>
+ * The new model is loaded beside the one in use and both are scored against the gold labels of the bundled corpus,
+ * the new model is refused if it scores below the model in use or below the minimum score. Otherwise the reference
+ * kept by the model singleton is replaced and the generation is increased. The tokenizers check the generation every
+ * time they are reset and build their segment again when it changed, so a token stream in flight finishes with the
+ * model it started with and the old model is garbage collected once no tokenizer refers to it any more.
+ *
+ * @author Rory Ye
+ */
+public class ModelRegistry {
+
+    private static final Logger logger = LogManager.getLogger(ModelRegistry.class);
+
+    /**
+     * 默认的最低得分
+     */
+    public static final double DEFAULT_MIN_SCORE = 0.9;
+
+    private static volatile ModelRegistry instance = null;
+
+    public static ModelRegistry getInstance() {
+        if (instance == null) {
+            synchronized (ModelRegistry.class) {
+                if (instance == null) {//二次检查
+                    instance = new ModelRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 模型每替换一次加一
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private ModelRegistry() {
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Load, score and swap the model, one model is swapped at a time.
+     *
+     * @param type     the model
+     * @param path     the new model path
+     * @param minScore the minimum score against the gold labels, the model is not swapped below it
+     * @return the result
+     * @throws IOException if can not load the new model
+     */
+    public synchronized SwapResult swap(ModelType type, String path, double minScore) throws IOException {
+        long start = System.nanoTime();
+        Object candidate = load(type, path);
+        Object current = type.current();
+        List<String> corpus = corpus();
+        PerceptronModelTool.Agreement score = score(type, candidate, corpus);
+        // 当前没有模型时只与最低得分比较
+        PerceptronModelTool.Agreement currentScore = current == null ? null : score(type, current, corpus);
+        TimeValue took = TimeValue.timeValueNanos(System.nanoTime() - start);
+        if (score.getRate() < minScore) {
+            logger.warn("hanlp rejected model [{}] from [{}], score {} is below {}", type.getName(), path, score, minScore);
+            return new SwapResult(false, generation.get(), score, currentScore, took);
+        }
+        if (currentScore != null && score.getRate() < currentScore.getRate()) {
+            logger.warn("hanlp rejected model [{}] from [{}], score {} is below the model in use {}", type.getName(), path, score,
+                    currentScore);
+            return new SwapResult(false, generation.get(), score, currentScore, took);
+        }
+        type.swap(candidate);
+        long swapped = generation.incrementAndGet();
+        logger.info("hanlp swapped model [{}] to [{}] in [{}], generation {}, score {}, previous {}", type.getName(), path, took,
+                swapped, score, currentScore);
+        return new SwapResult(true, swapped, score, currentScore, took);
+    }
+
+    private static PerceptronModelTool.Agreement score(ModelType type, Object model, List<String> corpus) {
+        return AccessController.doPrivileged((PrivilegedAction<PerceptronModelTool.Agreement>) () ->
+                PerceptronModelTool.score(type.getTask(), type.annotator(model), corpus));
+    }
+
+    private static Object load(ModelType type, String path) throws IOException {
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> type.load(path));
+        } catch (PrivilegedActionException e) {
+            throw (IOException) e.getException();
+        }
+    }
+
+    private static List<String> corpus() {
+        try {
+            return PerceptronModelTool.loadCorpus();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The result of a swap.
+     */
+    public static class SwapResult {
+
+        private final boolean swapped;
+
+        private final long generation;
+
+        private final PerceptronModelTool.Agreement score;
+
+        /**
+         * 当前模型的得分，没有当前模型时为空
+         */
+        private final PerceptronModelTool.Agreement currentScore;
+
+        private final TimeValue took;
+
+        SwapResult(boolean swapped, long generation, PerceptronModelTool.Agreement score, PerceptronModelTool.Agreement currentScore,
+                   TimeValue took) {
+            this.swapped = swapped;
+            this.generation = generation;
+            this.score = score;
+            this.currentScore = currentScore;
+            this.took = took;
+        }
+
+        public boolean isSwapped() {
+            return swapped;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public PerceptronModelTool.Agreement getScore() {
+            return score;
+        }
+
+        public PerceptronModelTool.Agreement getCurrentScore() {
+            return currentScore;
+        }
+
+        public TimeValue getTook() {
+            return took;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import com.hankcs.hanlp.model.crf.CRFNERecognizer;
+import com.hankcs.hanlp.model.crf.CRFPOSTagger;
+import com.hankcs.hanlp.model.crf.CRFSegmenter;
+import com.hankcs.hanlp.model.perceptron.common.TaskType;
+import com.hankcs.hanlp.model.perceptron.model.LinearModel;
+import org.opensearch.common.CheckedFunction;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The models which can be swapped at runtime by the {@link ModelRegistry}.
+ *
+ * @author Rory Ye
+ */
+public enum ModelType {
+
+    PERCEPTRON_CWS(TaskType.CWS, PerceptronModelLoader::load,
+            () -> PerceptronCWSInstance.getInstance().getLinearModel(),
+            model -> PerceptronCWSInstance.getInstance().swap((LinearModel) model)),
+
+    PERCEPTRON_POS(TaskType.POS, PerceptronModelLoader::load,
+            () -> PerceptronPOSInstance.getInstance().getLinearModel(),
+            model -> PerceptronPOSInstance.getInstance().swap((LinearModel) model)),
+
+    PERCEPTRON_NER(TaskType.NER, PerceptronModelLoader::load,
+            () -> PerceptronNERInstance.getInstance().getLinearModel(),
+            model -> PerceptronNERInstance.getInstance().swap((LinearModel) model)),
+
+    CRF_CWS(TaskType.CWS, path -> new CRFSegmenter(path),
+            () -> CRFSegmenterInstance.getInstance().getSegmenter(),
+            model -> CRFSegmenterInstance.getInstance().swap((CRFSegmenter) model)),
+
+    CRF_POS(TaskType.POS, path -> new CRFPOSTagger(path),
+            () -> CRFPOSTaggerInstance.getInstance().getTagger(),
+            model -> CRFPOSTaggerInstance.getInstance().swap((CRFPOSTagger) model)),
+
+    CRF_NER(TaskType.NER, path -> new CRFNERecognizer(path),
+            () -> CRFNERecognizerInstance.getInstance().getRecognizer(),
+            model -> CRFNERecognizerInstance.getInstance().swap((CRFNERecognizer) model));
+
+    private final TaskType task;
+
+    private final CheckedFunction<String, Object, IOException> loader;
+
+    /**
+     * 当前使用的模型
+     */
+    private final Supplier<Object> current;
+
+    /**
+     * 替换当前模型
+     */
+    private final Consumer<Object> swapper;
+
+    ModelType(TaskType task, CheckedFunction<String, Object, IOException> loader, Supplier<Object> current, Consumer<Object> swapper) {
+        this.task = task;
+        this.loader = loader;
+        this.current = current;
+        this.swapper = swapper;
+    }
+
+    public TaskType getTask() {
+        return task;
+    }
+
+    /**
+     * Load the model from the path, the perceptron models in the configured {@code hanlp.model.format}.
+     *
+     * @param path the model path
+     * @return the model
+     * @throws IOException if can not load the model
+     */
+    Object load(String path) throws IOException {
+        Object model = loader.apply(path);
+        if (model instanceof LinearModel && ((LinearModel) model).taskType() != task) {
+            throw new IllegalArgumentException("[" + path + "] is a " + ((LinearModel) model).taskType() + " model, not " + task);
+        }
+        return model;
+    }
+
+    /**
+     * The model in use.
+     *
+     * @return the model, or {@code null} if the model does not exist
+     */
+    Object current() {
+        return current.get();
+    }
+
+    void swap(Object model) {
+        swapper.accept(model);
+    }
+
+    /**
+     * The annotator of the model used for validation.
+     */
+    Object annotator(Object model) {
+        return model instanceof LinearModel ? PerceptronModelTool.annotator((LinearModel) model) : model;
+    }
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ModelType fromName(String name) {
+        for (ModelType type : values()) {
+            if (type.getName().equals(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("unknown hanlp model [" + name + "]");
+    }
+}
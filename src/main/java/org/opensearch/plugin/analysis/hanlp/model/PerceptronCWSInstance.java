@@ -41,7 +41,7 @@ public class PerceptronCWSInstance {
         return instance;
     }
 
-    private final LinearModel linearModel;
+    private volatile LinearModel linearModel;
 
     private PerceptronCWSInstance() {
         if (FileSystemUtils.exists(Paths.get(
@@ -49,7 +49,7 @@ public class PerceptronCWSInstance {
         ).toAbsolutePath())) {
             linearModel = AccessController.doPrivileged((PrivilegedAction<LinearModel>) () -> {
                 try {
-                    return new LinearModel(HanLP.Config.PerceptronCWSModelPath);
+                    return PerceptronModelLoader.load(HanLP.Config.PerceptronCWSModelPath);
                 } catch (IOException e) {
                     logger.error(() ->
                             new ParameterizedMessage("load perceptron cws model from [{}] error", HanLP.Config.PerceptronCWSModelPath), e);
@@ -65,4 +65,13 @@ public class PerceptronCWSInstance {
     public LinearModel getLinearModel() {
         return linearModel;
     }
+
+    /**
+     * Replace the model, the tokenizers built afterwards use the new one.
+     *
+     * @param linearModel the new model
+     */
+    void swap(LinearModel linearModel) {
+        this.linearModel = linearModel;
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import com.hankcs.hanlp.model.perceptron.model.LinearModel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.common.unit.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Load the perceptron models in the format configured by {@code hanlp.model.format}.
+ * <p>
+ * In {@link ModelFormat#MMAP} format the model is compiled once next to the HanLP model with the suffix {@value #MMAP_SUFFIX}
+ * and mapped from then on, it is compiled again when the HanLP model is newer than the compiled one. The
+ * {@link ModelFormat#INT8} format works the same with the suffix {@value #INT8_SUFFIX} and int8 weights.
+ *
+ * @author Rory Ye
+ */
+public class PerceptronModelLoader {
+
+    private static final Logger logger = LogManager.getLogger(PerceptronModelLoader.class);
+
+    public static final String MMAP_SUFFIX = ".mmap";
+
+    public static final String INT8_SUFFIX = ".int8";
+
+    /**
+     * 量化模型与float模型一致率低于该值时告警
+     */
+    private static final double MIN_AGREEMENT = 0.99;
+
+    private static volatile ModelFormat format = ModelFormat.DEFAULT;
+
+    private PerceptronModelLoader() {
+    }
+
+    public static void setFormat(ModelFormat format) {
+        PerceptronModelLoader.format = format;
+    }
+
+    public static ModelFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Load the model.
+     *
+     * @param modelPath the path of the HanLP model
+     * @return the model
+     * @throws IOException if can not load the HanLP model
+     */
+    public static LinearModel load(String modelPath) throws IOException {
+        if (format == ModelFormat.DEFAULT) {
+            return new LinearModel(modelPath);
+        }
+        long start = System.nanoTime();
+        Path source = Paths.get(modelPath);
+        boolean quantize = format == ModelFormat.INT8;
+        Path compiled = Paths.get(modelPath + (quantize ? INT8_SUFFIX : MMAP_SUFFIX));
+        try {
+            LinearModel reference = null;
+            if (!Files.exists(compiled) || Files.getLastModifiedTime(compiled).compareTo(Files.getLastModifiedTime(source)) < 0) {
+                logger.info("hanlp compiling perceptron model [{}] to [{}]", source, compiled);
+                reference = new LinearModel(modelPath);
+                MappedLinearModel.compile(reference, compiled, quantize);
+            }
+            LinearModel model = MappedLinearModel.open(compiled);
+            if (quantize && reference != null) {
+                validate(reference, model, compiled);
+            }
+            logger.info("hanlp mapped perceptron model [{}] in [{}]", compiled, TimeValue.timeValueNanos(System.nanoTime() - start));
+            return model;
+        } catch (IOException | RuntimeException e) {
+            logger.error(() -> new ParameterizedMessage("hanlp can not map perceptron model [{}], load it onto the heap", compiled), e);
+            return new LinearModel(modelPath);
+        }
+    }
+
+    /**
+     * Report the agreement of the freshly quantized model with the float model on the bundled corpus.
+     */
+    private static void validate(LinearModel reference, LinearModel quantized, Path compiled) {
+        try {
+            PerceptronModelTool.Agreement agreement = PerceptronModelTool.validate(reference, quantized, PerceptronModelTool.loadCorpus());
+            if (agreement.getRate() < MIN_AGREEMENT) {
+                logger.warn("hanlp quantized perceptron model [{}] {}, consider the mmap format instead", compiled, agreement);
+            } else {
+                logger.info("hanlp quantized perceptron model [{}] {}", compiled, agreement);
+            }
+        } catch (Exception e) {
+            logger.warn(() -> new ParameterizedMessage("hanlp can not validate quantized perceptron model [{}]", compiled), e);
+        }
+    }
+}
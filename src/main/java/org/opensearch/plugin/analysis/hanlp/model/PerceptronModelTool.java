@@ -0,0 +1,288 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import com.hankcs.hanlp.model.perceptron.PerceptronNERecognizer;
+import com.hankcs.hanlp.model.perceptron.PerceptronPOSTagger;
+import com.hankcs.hanlp.model.perceptron.PerceptronSegmenter;
+import com.hankcs.hanlp.model.perceptron.common.TaskType;
+import com.hankcs.hanlp.model.perceptron.model.LinearModel;
+import com.hankcs.hanlp.tokenizer.lexical.NERecognizer;
+import com.hankcs.hanlp.tokenizer.lexical.POSTagger;
+import com.hankcs.hanlp.tokenizer.lexical.Segmenter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The command line tool to compile the perceptron models and validate the quantized ones:
+ * <pre>
+ * java -cp "plugins/opensearch-analysis-hanlp/*" org.opensearch.plugin.analysis.hanlp.model.PerceptronModelTool \
+ *     compile (mmap|int8) model [output]
+ * java -cp "plugins/opensearch-analysis-hanlp/*" org.opensearch.plugin.analysis.hanlp.model.PerceptronModelTool \
+ *     validate model [corpus]
+ * </pre>
+ * The validation compares the int8 model with the float model on a corpus, one sentence per line with words like
+ * {@code 词/词性} separated by spaces, the bundled {@value #VALIDATION_CORPUS} by default. The words and natures of the
+ * corpus are also the gold labels the models are scored against before they are swapped at runtime.
+ *
+ * @author Rory Ye
+ */
+public class PerceptronModelTool {
+
+    public static final String VALIDATION_CORPUS = "/data/model/perceptron/validation.txt";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && "compile".equals(args[0])) {
+            ModelFormat format = ModelFormat.fromName(args[1]);
+            if (format == ModelFormat.DEFAULT) {
+                throw new IllegalArgumentException("can not compile to the default format");
+            }
+            boolean quantize = format == ModelFormat.INT8;
+            Path output = Paths.get(args.length > 3 ? args[3]
+                    : args[2] + (quantize ? PerceptronModelLoader.INT8_SUFFIX : PerceptronModelLoader.MMAP_SUFFIX));
+            MappedLinearModel.compile(new LinearModel(args[2]), output, quantize);
+            System.out.println("compiled " + args[2] + " to " + output);
+        } else if (args.length >= 2 && "validate".equals(args[0])) {
+            LinearModel reference = new LinearModel(args[1]);
+            Path quantized = Files.createTempFile("hanlp", PerceptronModelLoader.INT8_SUFFIX);
+            try {
+                MappedLinearModel.compile(reference, quantized, true);
+                List<String> corpus = args.length > 2 ? Files.readAllLines(Paths.get(args[2]), StandardCharsets.UTF_8) : loadCorpus();
+                Agreement agreement = validate(reference, MappedLinearModel.open(quantized), corpus);
+                System.out.println(args[1] + ": " + agreement);
+            } finally {
+                Files.deleteIfExists(quantized);
+            }
+        } else {
+            System.err.println("usage: compile (mmap|int8) model [output] | validate model [corpus]");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Load the bundled validation corpus.
+     *
+     * @return the sentences
+     * @throws IOException if the corpus is not bundled
+     */
+    public static List<String> loadCorpus() throws IOException {
+        InputStream in = PerceptronModelTool.class.getResourceAsStream(VALIDATION_CORPUS);
+        if (in == null) {
+            throw new IOException("validation corpus [" + VALIDATION_CORPUS + "] is not bundled");
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Compare the results of the candidate model with the reference model, the words of the segmentation or the tags
+     * of the tagging have to agree depending on the task of the model.
+     *
+     * @param reference the float model
+     * @param candidate the compiled model
+     * @param corpus    the sentences
+     * @return the agreement
+     */
+    public static Agreement validate(LinearModel reference, LinearModel candidate, List<String> corpus) {
+        return validate(reference.taskType(), annotator(reference), annotator(candidate), corpus);
+    }
+
+    /**
+     * Compare the results of two annotators of the same task, a {@link Segmenter} for CWS, a {@link POSTagger} for POS
+     * or a {@link NERecognizer} for NER, so the CRF models can be validated the same way.
+     *
+     * @param task      the task
+     * @param reference the reference annotator
+     * @param candidate the candidate annotator
+     * @param corpus    the sentences
+     * @return the agreement
+     */
+    public static Agreement validate(TaskType task, Object reference, Object candidate, List<String> corpus) {
+        Agreement agreement = new Agreement();
+        forEachSentence(corpus, (words, natures) -> {
+            switch (task) {
+                case CWS:
+                    String text = String.join("", words);
+                    agreement.addSpans(spans(((Segmenter) reference).segment(text)), spans(((Segmenter) candidate).segment(text)));
+                    break;
+                case POS:
+                    agreement.addTags(((POSTagger) reference).tag(words), ((POSTagger) candidate).tag(words));
+                    break;
+                case NER:
+                    agreement.addTags(((NERecognizer) reference).recognize(words, natures),
+                            ((NERecognizer) candidate).recognize(words, natures));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unsupported task [" + task + "]");
+            }
+        });
+        return agreement;
+    }
+
+    /**
+     * Score an annotator against the gold labels of the corpus: the F1 of the words for CWS, the accuracy of the
+     * natures for POS, and for NER the accuracy of the entity tags, where a word with one of the entity natures of the
+     * recognizer is a single word entity and every other word is outside.
+     *
+     * @param task      the task
+     * @param annotator the annotator
+     * @param corpus    the sentences
+     * @return the agreement with the gold labels
+     */
+    public static Agreement score(TaskType task, Object annotator, List<String> corpus) {
+        Agreement score = new Agreement();
+        forEachSentence(corpus, (words, natures) -> {
+            switch (task) {
+                case CWS:
+                    score.addSpans(spans(Arrays.asList(words)), spans(((Segmenter) annotator).segment(String.join("", words))));
+                    break;
+                case POS:
+                    score.addTags(natures, ((POSTagger) annotator).tag(words));
+                    break;
+                case NER:
+                    NERecognizer recognizer = (NERecognizer) annotator;
+                    Set<String> labels = recognizer.getNERTagSet().nerLabels;
+                    String[] gold = new String[natures.length];
+                    for (int i = 0; i < natures.length; i++) {
+                        gold[i] = labels.contains(natures[i]) ? "S-" + natures[i] : "O";
+                    }
+                    score.addTags(gold, recognizer.recognize(words, natures));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unsupported task [" + task + "]");
+            }
+        });
+        return score;
+    }
+
+    /**
+     * Split every sentence of the corpus into the words and their natures, {@code n} if missing.
+     */
+    private static void forEachSentence(List<String> corpus, BiConsumer<String[], String[]> consumer) {
+        for (String line : corpus) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] terms = line.split("\\s+");
+            String[] words = new String[terms.length];
+            String[] natures = new String[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                int cut = terms[i].lastIndexOf('/');
+                words[i] = cut > 0 ? terms[i].substring(0, cut) : terms[i];
+                natures[i] = cut > 0 ? terms[i].substring(cut + 1) : "n";
+            }
+            consumer.accept(words, natures);
+        }
+    }
+
+    static Object annotator(LinearModel model) {
+        switch (model.taskType()) {
+            case CWS:
+                return new PerceptronSegmenter(model);
+            case POS:
+                return new PerceptronPOSTagger(model);
+            case NER:
+                return new PerceptronNERecognizer(model);
+            default:
+                throw new IllegalArgumentException("unsupported task [" + model.taskType() + "]");
+        }
+    }
+
+    private static Set<String> spans(List<String> words) {
+        Set<String> spans = new HashSet<>();
+        int offset = 0;
+        for (String word : words) {
+            spans.add(offset + ":" + word.length());
+            offset += word.length();
+        }
+        return spans;
+    }
+
+    /**
+     * The agreement of two models, or of a model with the gold labels.
+     */
+    public static class Agreement {
+
+        private int sentences;
+
+        private int identicalSentences;
+
+        private long units;
+
+        private long agreedUnits;
+
+        void addSpans(Set<String> reference, Set<String> candidate) {
+            sentences++;
+            if (reference.equals(candidate)) {
+                identicalSentences++;
+            }
+            units += reference.size() + candidate.size();
+            for (String span : reference) {
+                if (candidate.contains(span)) {
+                    // 两边各算一次，即F1
+                    agreedUnits += 2;
+                }
+            }
+        }
+
+        void addTags(String[] reference, String[] candidate) {
+            sentences++;
+            boolean identical = true;
+            for (int i = 0; i < reference.length; i++) {
+                units++;
+                if (reference[i].equals(candidate[i])) {
+                    agreedUnits++;
+                } else {
+                    identical = false;
+                }
+            }
+            if (identical) {
+                identicalSentences++;
+            }
+        }
+
+        /**
+         * The agreement of the words or tags, the F1 of the words for segmentation.
+         *
+         * @return agreement rate from 0 to 1
+         */
+        public double getRate() {
+            return units == 0 ? 1 : (double) agreedUnits / units;
+        }
+
+        public double getSentenceRate() {
+            return sentences == 0 ? 1 : (double) identicalSentences / sentences;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "agreement %.4f, identical sentences %d/%d", getRate(), identicalSentences, sentences);
+        }
+    }
+}
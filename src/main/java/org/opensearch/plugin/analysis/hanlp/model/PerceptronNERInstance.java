@@ -41,7 +41,7 @@ public class PerceptronNERInstance {
         return instance;
     }
 
-    private final LinearModel linearModel;
+    private volatile LinearModel linearModel;
 
     private PerceptronNERInstance() {
         if (FileSystemUtils.exists(Paths.get(
@@ -49,7 +49,7 @@ public class PerceptronNERInstance {
         ).toAbsolutePath())) {
             linearModel = AccessController.doPrivileged((PrivilegedAction<LinearModel>) () -> {
                 try {
-                    return new LinearModel(HanLP.Config.PerceptronNERModelPath);
+                    return PerceptronModelLoader.load(HanLP.Config.PerceptronNERModelPath);
                 } catch (IOException e) {
                     logger.error(() ->
                             new ParameterizedMessage("load perceptron ner model from [{}] error", HanLP.Config.PerceptronNERModelPath), e);
@@ -65,4 +65,13 @@ public class PerceptronNERInstance {
     public LinearModel getLinearModel() {
         return linearModel;
     }
+
+    /**
+     * Replace the model, the tokenizers built afterwards use the new one.
+     *
+     * @param linearModel the new model
+     */
+    void swap(LinearModel linearModel) {
+        this.linearModel = linearModel;
+    }
 }
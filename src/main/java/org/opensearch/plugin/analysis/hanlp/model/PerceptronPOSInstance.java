@@ -41,7 +41,7 @@ public class PerceptronPOSInstance {
         return instance;
     }
 
-    private final LinearModel linearModel;
+    private volatile LinearModel linearModel;
 
     private PerceptronPOSInstance() {
         if (FileSystemUtils.exists(Paths.get(
@@ -49,7 +49,7 @@ public class PerceptronPOSInstance {
         ).toAbsolutePath())) {
             linearModel = AccessController.doPrivileged((PrivilegedAction<LinearModel>) () -> {
                 try {
-                    return new LinearModel(HanLP.Config.PerceptronPOSModelPath);
+                    return PerceptronModelLoader.load(HanLP.Config.PerceptronPOSModelPath);
                 } catch (IOException e) {
                     logger.error(() ->
                             new ParameterizedMessage("load perceptron pos model from [{}] error", HanLP.Config.PerceptronPOSModelPath), e);
@@ -65,4 +65,13 @@ public class PerceptronPOSInstance {
     public LinearModel getLinearModel() {
         return linearModel;
     }
+
+    /**
+     * Replace the model, the tokenizers built afterwards use the new one.
+     *
+     * @param linearModel the new model
+     */
+    void swap(LinearModel linearModel) {
+        this.linearModel = linearModel;
+    }
 }
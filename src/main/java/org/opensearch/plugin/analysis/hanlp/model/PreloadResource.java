@@ -0,0 +1,143 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.dictionary.CoreBiGramTableDictionary;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import com.hankcs.hanlp.dictionary.CustomDictionary;
+import com.hankcs.hanlp.dictionary.nr.PersonDictionary;
+import com.hankcs.hanlp.dictionary.ns.PlaceDictionary;
+import com.hankcs.hanlp.dictionary.nt.OrganizationDictionary;
+import com.hankcs.hanlp.dictionary.stopword.CoreStopWordDictionary;
+import com.hankcs.hanlp.model.crf.CRFLexicalAnalyzer;
+import com.hankcs.hanlp.model.perceptron.PerceptronLexicalAnalyzer;
+import com.hankcs.hanlp.seg.Segment;
+import org.opensearch.plugin.analysis.hanlp.dictionary.SpeedDictionary;
+import org.opensearch.plugin.analysis.hanlp.segment.SpeedSegment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * The models and dictionaries which can be preloaded at node start.
+ *
+ * @author Rory Ye
+ */
+public enum PreloadResource {
+
+    CORE_DICTIONARY(() -> CoreDictionary.trie.getSize() > 0, HanLP::newSegment),
+
+    BIGRAM_TABLE(() -> CoreBiGramTableDictionary.getBiFrequency("的", "是") >= 0, null),
+
+    PERSON_DICTIONARY(() -> PersonDictionary.dictionary != null, null),
+
+    PLACE_DICTIONARY(() -> PlaceDictionary.dictionary != null, null),
+
+    ORGANIZATION_DICTIONARY(() -> OrganizationDictionary.dictionary != null, null),
+
+    STOP_WORDS(() -> {
+        CoreStopWordDictionary.contains("的");
+        return true;
+    }, null),
+
+    CUSTOM_DICTIONARY(() -> CustomDictionary.DEFAULT.dat.getSize() > 0, null),
+
+    SPEED_DICTIONARY(() -> SpeedDictionary.getInstance().getTrie() != null, SpeedSegment::new),
+
+    PERCEPTRON_CWS(() -> PerceptronCWSInstance.getInstance().getLinearModel() != null,
+            () -> new PerceptronLexicalAnalyzer(PerceptronCWSInstance.getInstance().getLinearModel())),
+
+    PERCEPTRON_POS(() -> PerceptronPOSInstance.getInstance().getLinearModel() != null,
+            () -> new PerceptronLexicalAnalyzer(PerceptronCWSInstance.getInstance().getLinearModel(),
+                    PerceptronPOSInstance.getInstance().getLinearModel())),
+
+    PERCEPTRON_NER(() -> PerceptronNERInstance.getInstance().getLinearModel() != null,
+            () -> new PerceptronLexicalAnalyzer(PerceptronCWSInstance.getInstance().getLinearModel(),
+                    PerceptronPOSInstance.getInstance().getLinearModel(),
+                    PerceptronNERInstance.getInstance().getLinearModel())),
+
+    CRF_CWS(() -> CRFSegmenterInstance.getInstance().getSegmenter() != null,
+            () -> new CRFLexicalAnalyzer(CRFSegmenterInstance.getInstance().getSegmenter())),
+
+    CRF_POS(() -> CRFPOSTaggerInstance.getInstance().getTagger() != null,
+            () -> new CRFLexicalAnalyzer(CRFSegmenterInstance.getInstance().getSegmenter(),
+                    CRFPOSTaggerInstance.getInstance().getTagger())),
+
+    CRF_NER(() -> CRFNERecognizerInstance.getInstance().getRecognizer() != null,
+            () -> new CRFLexicalAnalyzer(CRFSegmenterInstance.getInstance().getSegmenter(),
+                    CRFPOSTaggerInstance.getInstance().getTagger(),
+                    CRFNERecognizerInstance.getInstance().getRecognizer()));
+
+    /**
+     * 加载资源，资源不存在时返回false
+     */
+    private final Supplier<Boolean> loader;
+
+    /**
+     * 预热用的分词器，为空时不预热
+     */
+    private final Supplier<Segment> warmUpSegment;
+
+    PreloadResource(Supplier<Boolean> loader, Supplier<Segment> warmUpSegment) {
+        this.loader = loader;
+        this.warmUpSegment = warmUpSegment;
+    }
+
+    /**
+     * Load the resource, the loaded resource is kept by its singleton.
+     *
+     * @return {@code false} if the resource does not exist
+     */
+    public boolean load() {
+        return loader.get();
+    }
+
+    /**
+     * The segment used to warm up the resource.
+     *
+     * @return the segment, or {@code null} if the resource needs no warm-up
+     */
+    public Segment warmUpSegment() {
+        return warmUpSegment == null ? null : warmUpSegment.get();
+    }
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static PreloadResource fromName(String name) {
+        for (PreloadResource resource : values()) {
+            if (resource.getName().equals(name)) {
+                return resource;
+            }
+        }
+        throw new IllegalArgumentException("unknown hanlp preload resource [" + name + "]");
+    }
+
+    /**
+     * Parse the resource names, {@code all} stands for every resource.
+     *
+     * @param names the resource names
+     * @return the resources in declaration order
+     */
+    public static List<PreloadResource> parse(List<String> names) {
+        if (names.contains("all")) {
+            return Arrays.asList(values());
+        }
+        EnumSet<PreloadResource> resources = EnumSet.noneOf(PreloadResource.class);
+        for (String name : names) {
+            resources.add(fromName(name));
+        }
+        return new ArrayList<>(resources);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.query;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.spans.SpanNearQuery;
+import org.apache.lucene.queries.spans.SpanOrQuery;
+import org.apache.lucene.queries.spans.SpanQuery;
+import org.apache.lucene.queries.spans.SpanTermQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.opensearch.common.ParsingException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.ParseField;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.query.AbstractQueryBuilder;
+import org.opensearch.index.query.QueryShardContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Match the text only where its tokens were indexed with one of the natures, from the nature payloads written by the
+ * HanLP tokenizer with {@code enable_nature_payload}:
+ * <pre>
+ * "hanlp_pos": {
+ *   "field": "content",
+ *   "query": "苹果",
+ *   "natures": ["nt", "nz"]
+ * }
+ * </pre>
+ * The text is analyzed with the search analyzer of the field, the tokens have to be in order at their positions like
+ * {@code match_phrase} and every one of them has to match the natures. The natures are prefixes like in
+ * {@code hanlp_pos_filter}.
+ *
+ * @author Rory Ye
+ */
+public class HanLPPosQueryBuilder extends AbstractQueryBuilder<HanLPPosQueryBuilder> {
+
+    public static final String NAME = "hanlp_pos";
+
+    private static final ParseField FIELD_FIELD = new ParseField("field");
+
+    private static final ParseField QUERY_FIELD = new ParseField("query");
+
+    private static final ParseField NATURES_FIELD = new ParseField("natures");
+
+    private final String fieldName;
+
+    private final String text;
+
+    private final List<String> natures;
+
+    public HanLPPosQueryBuilder(String fieldName, String text, List<String> natures) {
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("[" + NAME + "] requires [field]");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("[" + NAME + "] requires [query]");
+        }
+        if (natures == null || natures.isEmpty()) {
+            throw new IllegalArgumentException("[" + NAME + "] requires [natures]");
+        }
+        this.fieldName = fieldName;
+        this.text = text;
+        this.natures = natures;
+    }
+
+    public HanLPPosQueryBuilder(StreamInput in) throws IOException {
+        super(in);
+        this.fieldName = in.readString();
+        this.text = in.readString();
+        this.natures = in.readStringList();
+    }
+
+    @Override
+    protected void doWriteTo(StreamOutput out) throws IOException {
+        out.writeString(fieldName);
+        out.writeString(text);
+        out.writeStringCollection(natures);
+    }
+
+    @Override
+    protected void doXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(NAME);
+        builder.field(FIELD_FIELD.getPreferredName(), fieldName);
+        builder.field(QUERY_FIELD.getPreferredName(), text);
+        builder.field(NATURES_FIELD.getPreferredName(), natures);
+        printBoostAndQueryName(builder);
+        builder.endObject();
+    }
+
+    public static HanLPPosQueryBuilder fromXContent(XContentParser parser) throws IOException {
+        String fieldName = null;
+        String text = null;
+        List<String> natures = new ArrayList<>();
+        float boost = AbstractQueryBuilder.DEFAULT_BOOST;
+        String queryName = null;
+        String currentFieldName = null;
+        XContentParser.Token token;
+        while ((token = parser.nextToken()) != XContentParser.Token.END_OBJECT) {
+            if (token == XContentParser.Token.FIELD_NAME) {
+                currentFieldName = parser.currentName();
+            } else if (token == XContentParser.Token.START_ARRAY && NATURES_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
+                while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+                    natures.add(parser.text());
+                }
+            } else if (token.isValue()) {
+                if (FIELD_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
+                    fieldName = parser.text();
+                } else if (QUERY_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
+                    text = parser.text();
+                } else if (NATURES_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
+                    natures.add(parser.text());
+                } else if (AbstractQueryBuilder.BOOST_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
+                    boost = parser.floatValue();
+                } else if (AbstractQueryBuilder.NAME_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
+                    queryName = parser.text();
+                } else {
+                    throw new ParsingException(parser.getTokenLocation(), "[" + NAME + "] does not support [" + currentFieldName + "]");
+                }
+            } else {
+                throw new ParsingException(parser.getTokenLocation(), "[" + NAME + "] unexpected token [" + token + "]");
+            }
+        }
+        try {
+            return new HanLPPosQueryBuilder(fieldName, text, natures).boost(boost).queryName(queryName);
+        } catch (IllegalArgumentException e) {
+            throw new ParsingException(parser.getTokenLocation(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Query doToQuery(QueryShardContext context) throws IOException {
+        MappedFieldType fieldType = context.fieldMapper(fieldName);
+        if (fieldType == null) {
+            return new MatchNoDocsQuery("unknown field [" + fieldName + "]");
+        }
+        Analyzer analyzer = context.getSearchAnalyzer(fieldType);
+        SpanQuery query;
+        try (TokenStream tokenStream = analyzer.tokenStream(fieldName, text)) {
+            query = spanQuery(fieldName, tokenStream, natures);
+        }
+        if (query == null) {
+            return new MatchNoDocsQuery("no tokens in [" + text + "]");
+        }
+        return query;
+    }
+
+    /**
+     * The span query of the tokens like {@code match_phrase}: the tokens at the same position, e.g. a token and its
+     * pinyin, match either of them and the positions removed by a stop filter are kept as gaps.
+     *
+     * @param field       the field name
+     * @param tokenStream the analyzed text
+     * @param natures     the natures
+     * @return the query, {@code null} without tokens
+     * @throws IOException if the text could not be analyzed
+     */
+    static SpanQuery spanQuery(String field, TokenStream tokenStream, List<String> natures) throws IOException {
+        CharTermAttribute termAtt = tokenStream.addAttribute(CharTermAttribute.class);
+        PositionIncrementAttribute positionAtt = tokenStream.addAttribute(PositionIncrementAttribute.class);
+        SpanNearQuery.Builder builder = new SpanNearQuery.Builder(field, true);
+        List<SpanQuery> stacked = new ArrayList<>();
+        int positions = 0;
+        tokenStream.reset();
+        while (tokenStream.incrementToken()) {
+            SpanQuery clause = new NaturePayloadSpanQuery(new SpanTermQuery(new Term(field, termAtt.toString())), natures);
+            int increment = positionAtt.getPositionIncrement();
+            if (increment == 0 && !stacked.isEmpty()) {
+                stacked.add(clause);
+                continue;
+            }
+            if (!stacked.isEmpty()) {
+                builder.addClause(or(stacked));
+                positions++;
+                stacked.clear();
+                // 停用词等留下的空位，开头的空位无需匹配
+                if (increment > 1) {
+                    builder.addGap(increment - 1);
+                }
+            }
+            stacked.add(clause);
+        }
+        tokenStream.end();
+        if (stacked.isEmpty()) {
+            return null;
+        }
+        if (positions == 0) {
+            return or(stacked);
+        }
+        builder.addClause(or(stacked));
+        return builder.build();
+    }
+
+    private static SpanQuery or(List<SpanQuery> clauses) {
+        return clauses.size() == 1 ? clauses.get(0) : new SpanOrQuery(clauses.toArray(new SpanQuery[0]));
+    }
+
+    @Override
+    protected boolean doEquals(HanLPPosQueryBuilder other) {
+        return fieldName.equals(other.fieldName) && text.equals(other.text) && natures.equals(other.natures);
+    }
+
+    @Override
+    protected int doHashCode() {
+        return Objects.hash(fieldName, text, natures);
+    }
+
+    @Override
+    public String getWriteableName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.query;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.spans.FilterSpans;
+import org.apache.lucene.queries.spans.FilterSpans.AcceptStatus;
+import org.apache.lucene.queries.spans.SpanCollector;
+import org.apache.lucene.queries.spans.SpanPositionCheckQuery;
+import org.apache.lucene.queries.spans.SpanQuery;
+import org.apache.lucene.queries.spans.SpanWeight;
+import org.apache.lucene.queries.spans.Spans;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.plugin.analysis.hanlp.filter.NatureMask;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.NaturePayload;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Only the positions whose nature payload, written by the HanLP tokenizer with {@code enable_nature_payload}, matches
+ * one of the natures are kept. The positions without payload never match. The payloads hold the stable
+ * {@link NaturePayload} ids or names, so the indices written on any node and before any restart match the same way.
+ *
+ * @author Rory Ye
+ */
+public class NaturePayloadSpanQuery extends SpanPositionCheckQuery {
+
+    private final List<String> natures;
+
+    private final NatureMask mask;
+
+    public NaturePayloadSpanQuery(SpanQuery match, List<String> natures) {
+        super(match);
+        this.natures = natures;
+        this.mask = NatureMask.compile(natures);
+    }
+
+    @Override
+    public SpanWeight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) throws IOException {
+        SpanWeight matchWeight = match.createWeight(searcher, scoreMode, boost);
+        return new SpanPositionCheckWeight(matchWeight, searcher, scoreMode.needsScores() ? getTermStates(matchWeight) : null, boost) {
+            @Override
+            public Spans getSpans(LeafReaderContext context, Postings requiredPostings) throws IOException {
+                // 读取payload
+                Spans matchSpans = matchWeight.getSpans(context, requiredPostings.atLeast(Postings.PAYLOADS));
+                if (matchSpans == null) {
+                    return null;
+                }
+                // 每个段复用一个collector
+                NatureCollector collector = new NatureCollector();
+                return new FilterSpans(matchSpans) {
+                    @Override
+                    protected AcceptStatus accept(Spans candidate) throws IOException {
+                        return collector.accept(candidate);
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    protected AcceptStatus acceptPosition(Spans spans) throws IOException {
+        // 仅在未经上面的weight时调用
+        return new NatureCollector().accept(spans);
+    }
+
+    @Override
+    public String toString(String field) {
+        return "nature_payload(" + match.toString(field) + ", " + natures + ")";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return super.equals(other) && natures.equals(((NaturePayloadSpanQuery) other).natures);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), natures);
+    }
+
+    /**
+     * 检查span内各位置的词性
+     */
+    private class NatureCollector implements SpanCollector {
+
+        private boolean matched;
+
+        AcceptStatus accept(Spans spans) throws IOException {
+            reset();
+            spans.collect(this);
+            return matched ? AcceptStatus.YES : AcceptStatus.NO;
+        }
+
+        @Override
+        public void collectLeaf(PostingsEnum postings, int position, Term term) throws IOException {
+            if (matched) {
+                return;
+            }
+            BytesRef payload = postings.getPayload();
+            int id = NaturePayload.decodeId(payload);
+            matched = id >= 0 ? mask.matchesBuiltIn(id) : mask.matches(NaturePayload.decodeName(payload));
+        }
+
+        @Override
+        public void reset() {
+            matched = false;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.rest;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.Strings;
+import org.opensearch.plugin.analysis.hanlp.action.AnalysisStatsAction;
+import org.opensearch.plugin.analysis.hanlp.action.AnalysisStatsRequest;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+/**
+ * The analysis stats of the HanLP tokenizers, the adaptive engines and the ingest processors added up over the nodes,
+ * {@code level=nodes} lists the stats of every node as well.
+ *
+ * @author Rory Ye
+ */
+public class RestAnalysisStatsAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "hanlp_analysis_stats_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return Collections.singletonList(new Route(GET, "/_hanlp/_stats"));
+    }
+
+    @Override
+    protected Set<String> responseParams() {
+        return Collections.singleton("level");
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) {
+        AnalysisStatsRequest statsRequest = new AnalysisStatsRequest(Strings.splitStringByCommaToArray(request.param("nodes")));
+        statsRequest.timeout(request.param("timeout"));
+        return channel -> client.execute(AnalysisStatsAction.INSTANCE, statsRequest, new RestToXContentListener<>(channel));
+    }
+}
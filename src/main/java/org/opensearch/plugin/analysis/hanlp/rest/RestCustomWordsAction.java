@@ -0,0 +1,78 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.rest;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.plugin.analysis.hanlp.action.CustomWord;
+import org.opensearch.plugin.analysis.hanlp.action.CustomWordsAction;
+import org.opensearch.plugin.analysis.hanlp.action.CustomWordsRequest;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+/**
+ * Add or remove custom words online, the body looks like:
+ * <pre>
+ * {
+ *   "add": ["word", {"word": "word", "nature": "nz", "frequency": 1000}],
+ *   "remove": ["word"]
+ * }
+ * </pre>
+ *
+ * @author Rory Ye
+ */
+public class RestCustomWordsAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "hanlp_custom_words_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return Collections.singletonList(new Route(POST, "/_hanlp/_dictionary/_words"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        CustomWordsRequest customWordsRequest = new CustomWordsRequest();
+        Map<String, Object> body;
+        try (XContentParser parser = request.contentParser()) {
+            body = parser.map();
+        }
+        for (Map.Entry<String, Object> entry : body.entrySet()) {
+            if (!(entry.getValue() instanceof List)) {
+                throw new IllegalArgumentException("[" + entry.getKey() + "] must be an array");
+            }
+            List<?> values = (List<?>) entry.getValue();
+            switch (entry.getKey()) {
+                case "add":
+                    for (Object value : values) {
+                        customWordsRequest.add(CustomWord.parse(value));
+                    }
+                    break;
+                case "remove":
+                    for (Object value : values) {
+                        customWordsRequest.remove(CustomWord.parse(value).getWord());
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown field [" + entry.getKey() + "]");
+            }
+        }
+        return channel -> client.execute(CustomWordsAction.INSTANCE, customWordsRequest, new RestToXContentListener<>(channel));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.rest;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.plugin.analysis.hanlp.model.ModelPreloader;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestStatus;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+/**
+ * The preload readiness of the local node, responds {@code 200} once all configured models and dictionaries are
+ * preloaded and {@code 503} before.
+ *
+ * @author Rory Ye
+ */
+public class RestReadyAction extends BaseRestHandler {
+
+    private final ModelPreloader preloader;
+
+    public RestReadyAction(ModelPreloader preloader) {
+        this.preloader = preloader;
+    }
+
+    @Override
+    public String getName() {
+        return "hanlp_ready_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return Collections.singletonList(new Route(GET, "/_hanlp/_ready"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) {
+        return channel -> {
+            XContentBuilder builder = channel.newBuilder();
+            preloader.toXContent(builder, request);
+            channel.sendResponse(new BytesRestResponse(preloader.isReady() ? RestStatus.OK : RestStatus.SERVICE_UNAVAILABLE, builder));
+        };
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.rest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.env.Environment;
+import org.opensearch.plugin.analysis.hanlp.AnalysisHanLPPlugin;
+import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.SegmentTemplate;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerBuilder;
+import org.opensearch.plugin.analysis.hanlp.tokenizer.TokenizerType;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestChannel;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestStatus;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+/**
+ * Segment a batch of texts on the local node with its loaded dictionaries and models, the body looks like:
+ * <pre>
+ * {
+ *   "tokenizer": "crf",
+ *   "with_pos": true,
+ *   "tokenizer_settings": { "enable_custom_config": true },
+ *   "texts": [ "商品和服务", "..." ]
+ * }
+ * </pre>
+ * The texts are split into batches segmented in parallel on the bounded {@code hanlp} thread pool, a full pool
+ * rejects the request with {@code 429}. Every token of the response is a compact array of the word, the start and
+ * end offsets and the nature if {@code with_pos} is set, the results are in the order of the texts:
+ * <pre>
+ * {
+ *   "took": 3,
+ *   "results": [ [ [ "商品", 0, 2, "n" ], [ "和", 2, 3, "cc" ], [ "服务", 3, 5, "vn" ] ], [ ... ] ]
+ * }
+ * </pre>
+ *
+ * @author Rory Ye
+ */
+public class RestSegmentAction extends BaseRestHandler {
+
+    private static final Logger logger = LogManager.getLogger(RestSegmentAction.class);
+
+    /**
+     * 单个请求最多的文本数
+     */
+    public static final int MAX_TEXTS = 10000;
+
+    /**
+     * 每个任务分词的文本数
+     */
+    private static final int BATCH_SIZE = 64;
+
+    private final Supplier<Environment> environment;
+
+    public RestSegmentAction(Supplier<Environment> environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public String getName() {
+        return "hanlp_segment_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return Collections.singletonList(new Route(POST, "/_hanlp/_segment"));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        Map<String, Object> body;
+        try (XContentParser parser = request.contentParser()) {
+            body = parser.map();
+        }
+        Object texts = body.get("texts");
+        if (!(texts instanceof List)) {
+            throw new IllegalArgumentException("[texts] must be an array of strings");
+        }
+        List<String> textList = new ArrayList<>(((List<?>) texts).size());
+        for (Object text : (List<?>) texts) {
+            textList.add(text == null ? "" : text.toString());
+        }
+        if (textList.size() > MAX_TEXTS) {
+            throw new IllegalArgumentException("too many texts [" + textList.size() + "], must be at most [" + MAX_TEXTS + "]");
+        }
+        Object tokenizer = body.getOrDefault("tokenizer", TokenizerType.HANLP.getName());
+        boolean withPos = Boolean.TRUE.equals(body.get("with_pos"));
+        Settings.Builder settings = Settings.builder();
+        Object tokenizerSettings = body.get("tokenizer_settings");
+        if (tokenizerSettings instanceof Map) {
+            settings.loadFromMap((Map<String, Object>) tokenizerSettings);
+        }
+        SegmentTemplate template = SegmentTemplate.of(TokenizerType.fromName(tokenizer.toString()),
+                new Configuration(environment.get(), settings.build(), null));
+        ExecutorService executor = client.threadPool().executor(AnalysisHanLPPlugin.THREAD_POOL_NAME);
+        return channel -> new SegmentTask(channel, template, withPos, textList).run(executor);
+    }
+
+    /**
+     * 一个请求的所有批次，最后完成的批次发送响应
+     */
+    private static final class SegmentTask {
+
+        private final RestChannel channel;
+
+        private final SegmentTemplate template;
+
+        private final boolean withPos;
+
+        private final List<String> texts;
+
+        private final AtomicReferenceArray<List<Object[]>> results;
+
+        private final AtomicInteger pending;
+
+        /**
+         * 保证只发送一次响应
+         */
+        private final AtomicBoolean responded = new AtomicBoolean();
+
+        private final long start = System.nanoTime();
+
+        SegmentTask(RestChannel channel, SegmentTemplate template, boolean withPos, List<String> texts) {
+            this.channel = channel;
+            this.template = template;
+            this.withPos = withPos;
+            this.texts = texts;
+            this.results = new AtomicReferenceArray<>(texts.size());
+            this.pending = new AtomicInteger((texts.size() + BATCH_SIZE - 1) / BATCH_SIZE);
+        }
+
+        void run(ExecutorService executor) {
+            if (texts.isEmpty()) {
+                respond();
+                return;
+            }
+            for (int from = 0; from < texts.size(); from += BATCH_SIZE) {
+                int batchStart = from;
+                int batchEnd = Math.min(from + BATCH_SIZE, texts.size());
+                try {
+                    executor.execute(() -> segment(batchStart, batchEnd));
+                } catch (Exception e) {
+                    // 线程池已满
+                    fail(e);
+                    return;
+                }
+            }
+        }
+
+        private void segment(int from, int to) {
+            if (responded.get()) {
+                return;
+            }
+            try (Tokenizer tokenizer = TokenizerBuilder.tokenizer(template)) {
+                CharTermAttribute termAtt = tokenizer.addAttribute(CharTermAttribute.class);
+                OffsetAttribute offsetAtt = tokenizer.addAttribute(OffsetAttribute.class);
+                TypeAttribute typeAtt = tokenizer.addAttribute(TypeAttribute.class);
+                for (int i = from; i < to; i++) {
+                    List<Object[]> tokens = new ArrayList<>();
+                    tokenizer.setReader(new StringReader(texts.get(i)));
+                    tokenizer.reset();
+                    while (tokenizer.incrementToken()) {
+                        tokens.add(withPos
+                                ? new Object[]{termAtt.toString(), offsetAtt.startOffset(), offsetAtt.endOffset(), typeAtt.type()}
+                                : new Object[]{termAtt.toString(), offsetAtt.startOffset(), offsetAtt.endOffset()});
+                    }
+                    tokenizer.end();
+                    tokenizer.close();
+                    results.set(i, tokens);
+                }
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+            if (pending.decrementAndGet() == 0) {
+                respond();
+            }
+        }
+
+        private void respond() {
+            if (!responded.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                XContentBuilder builder = channel.newBuilder();
+                builder.startObject();
+                builder.field("took", TimeValue.nsecToMSec(System.nanoTime() - start));
+                builder.startArray("results");
+                for (int i = 0; i < results.length(); i++) {
+                    builder.startArray();
+                    for (Object[] token : results.get(i)) {
+                        builder.value((Object) token);
+                    }
+                    builder.endArray();
+                }
+                builder.endArray();
+                builder.endObject();
+                channel.sendResponse(new BytesRestResponse(RestStatus.OK, builder));
+            } catch (Exception e) {
+                sendFailure(e);
+            }
+        }
+
+        private void fail(Exception e) {
+            if (responded.compareAndSet(false, true)) {
+                sendFailure(e);
+            }
+        }
+
+        private void sendFailure(Exception e) {
+            try {
+                channel.sendResponse(new BytesRestResponse(channel, e));
+            } catch (IOException inner) {
+                inner.addSuppressed(e);
+                logger.warn("failed to send hanlp segment failure response", inner);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.rest;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.Strings;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.plugin.analysis.hanlp.action.SwapModelAction;
+import org.opensearch.plugin.analysis.hanlp.action.SwapModelRequest;
+import org.opensearch.plugin.analysis.hanlp.model.ModelType;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+/**
+ * Swap a model on all nodes without restarting them, the model is one of {@code perceptron_cws}, {@code perceptron_pos},
+ * {@code perceptron_ner}, {@code crf_cws}, {@code crf_pos} or {@code crf_ner} and the body looks like:
+ * <pre>
+ * {
+ *   "path": "data/model/perceptron/pku1998/cws.bin",
+ *   "min_score": 0.95
+ * }
+ * </pre>
+ * The path is relative to the plugin directory. The new model and the model in use are scored against the gold labels
+ * of the bundled validation corpus, the new model is refused if it scores below the model in use or below
+ * {@code min_score}, {@code 0.9} by default.
+ *
+ * @author Rory Ye
+ */
+public class RestSwapModelAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "hanlp_swap_model_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return Collections.singletonList(new Route(POST, "/_hanlp/_model/{model}/_swap"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        ModelType model = ModelType.fromName(request.param("model"));
+        Map<String, Object> body;
+        try (XContentParser parser = request.contentParser()) {
+            body = parser.map();
+        }
+        SwapModelRequest swapModelRequest = new SwapModelRequest(model, (String) body.get("path"),
+                Strings.splitStringByCommaToArray(request.param("nodes")));
+        if (body.containsKey("min_score")) {
+            swapModelRequest.setMinScore(((Number) body.get("min_score")).doubleValue());
+        }
+        swapModelRequest.timeout(request.param("timeout"));
+        return channel -> client.execute(SwapModelAction.INSTANCE, swapModelRequest, new RestToXContentListener<>(channel));
+    }
+}
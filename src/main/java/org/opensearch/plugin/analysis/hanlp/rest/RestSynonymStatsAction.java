@@ -0,0 +1,48 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.rest;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.plugin.analysis.hanlp.dictionary.SynonymDictionary;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestStatus;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+/**
+ * The memory stats of the synonym map of the local node.
+ *
+ * @author Rory Ye
+ */
+public class RestSynonymStatsAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "hanlp_synonym_stats_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return Collections.singletonList(new Route(GET, "/_hanlp/_synonym/_stats"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) {
+        return channel -> {
+            XContentBuilder builder = channel.newBuilder();
+            SynonymDictionary.getInstance().toXContent(builder, request);
+            channel.sendResponse(new BytesRestResponse(RestStatus.OK, builder));
+        };
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.segment;
+
+import org.opensearch.plugin.analysis.hanlp.stats.AdaptiveStats;
+
+import java.util.Locale;
+
+/**
+ * The engines the {@link AdaptiveSegment} chooses from, from the most accurate to the cheapest. The chunks every engine
+ * segmented are counted per tokenizer and index by {@link AdaptiveStats}.
+ *
+ * @author Rory Ye
+ */
+public enum AdaptiveEngine {
+
+    /**
+     * CRF分词
+     */
+    CRF,
+    /**
+     * 感知机分词
+     */
+    NLP,
+    /**
+     * 标准分词
+     */
+    STANDARD,
+    /**
+     * 极速词典分词
+     */
+    SPEED;
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
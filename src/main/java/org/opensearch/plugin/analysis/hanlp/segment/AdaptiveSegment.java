@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.segment;
+
+import com.hankcs.hanlp.seg.Segment;
+import com.hankcs.hanlp.seg.common.Term;
+import org.opensearch.plugin.analysis.hanlp.stats.AdaptiveStats;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Choose the segment of every chunk by its length and the time budget of the document.
+ * <p>
+ * The most accurate stage which accepts the chunk length and whose estimated cost fits into what is left of the budget
+ * segments the chunk, the last stage takes everything else, so once the budget runs out the rest of the document goes
+ * to the cheapest stage. The cost of a stage is estimated from the {@link AdaptiveStats} of the tokenizer, a stage over
+ * the budget is still probed now and then so its estimate recovers from a slow chunk. The time to build the segment of a
+ * stage, which loads its model the first time, is not counted. The budget is restarted by {@link #startDocument()}, one
+ * instance serves one tokenizer.
+ *
+ * @author Rory Ye
+ */
+public class AdaptiveSegment extends Segment {
+
+    /**
+     * 从准确到快速排列，最后一个不限制长度和预算
+     */
+    private final List<Stage> stages;
+
+    private final long timeBudgetInNanos;
+
+    private final AdaptiveStats stats;
+
+    /**
+     * 当前文档已用的时间
+     */
+    private long spentNanos;
+
+    public AdaptiveSegment(List<Stage> stages, long timeBudgetInNanos, AdaptiveStats stats) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("no segment to choose from");
+        }
+        this.stages = stages;
+        this.timeBudgetInNanos = timeBudgetInNanos;
+        this.stats = stats;
+    }
+
+    /**
+     * Restart the time budget for a new document.
+     */
+    public void startDocument() {
+        spentNanos = 0;
+    }
+
+    @Override
+    public List<Term> seg(char[] text) {
+        Stage stage = choose(text.length);
+        // 模型懒加载的时间不计入引擎的耗时
+        Segment segment = stage.segment.get();
+        long start = System.nanoTime();
+        List<Term> termList = segment.seg(text);
+        long took = System.nanoTime() - start;
+        spentNanos += took;
+        stats.record(stage.engine, text.length, took);
+        return termList;
+    }
+
+    @Override
+    protected List<Term> segSentence(char[] sentence) {
+        return seg(sentence);
+    }
+
+    private Stage choose(int length) {
+        long remaining = timeBudgetInNanos - spentNanos;
+        for (int i = 0; i < stages.size() - 1; i++) {
+            Stage stage = stages.get(i);
+            if (length > stage.maxChunkLength || remaining <= 0) {
+                continue;
+            }
+            if (stats.estimateNanos(stage.engine, length) <= remaining || stats.probe(stage.engine)) {
+                return stage;
+            }
+        }
+        return stages.get(stages.size() - 1);
+    }
+
+    /**
+     * An engine with its configured segment.
+     */
+    public static class Stage {
+
+        private final AdaptiveEngine engine;
+
+        private final Supplier<Segment> segment;
+
+        private final int maxChunkLength;
+
+        public Stage(AdaptiveEngine engine, Supplier<Segment> segment, int maxChunkLength) {
+            this.engine = engine;
+            this.segment = segment;
+            this.maxChunkLength = maxChunkLength;
+        }
+    }
+}
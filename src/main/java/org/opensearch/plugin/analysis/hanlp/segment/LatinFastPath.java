@@ -0,0 +1,189 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.segment;
+
+import com.hankcs.hanlp.corpus.tag.Nature;
+import com.hankcs.hanlp.seg.Segment;
+import com.hankcs.hanlp.seg.common.Term;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Split the text into CJK runs and the runs between them, only the CJK runs are segmented by HanLP.
+ * <p>
+ * The other runs are tokenized in place by a simple scanner: letters and digits make up a word, {@code nx} if it has a
+ * letter and {@code m} otherwise, digits around a {@code .} or {@code ,} stay one number, a run of whitespace and every
+ * other char are terms of their own, {@code w}. The numbers right before or after a CJK char are left to HanLP, so the
+ * number quantifiers like {@code 3个} are still recognized. Words of the custom dictionary containing latin chars are not
+ * matched inside those runs.
+ * <p>
+ * The runs still produce a {@link Term} each like HanLP does, the tokenizer filters, stems and looks up the stop words
+ * by term, and the single ASCII chars share their words. The CJK runs between other runs are copied since HanLP only
+ * segments a whole array.
+ *
+ * @author Rory Ye
+ */
+public class LatinFastPath {
+
+    /**
+     * CJK部首补充区的起点，之前的字符都不需要HanLP分词
+     */
+    private static final char CJK_START = '\u2E80';
+
+    /**
+     * 单个ASCII字符的词，空格和标点不必每次新建
+     */
+    private static final String[] ASCII_WORDS = new String[128];
+
+    static {
+        for (char c = 0; c < ASCII_WORDS.length; c++) {
+            ASCII_WORDS[c] = String.valueOf(c);
+        }
+    }
+
+    private LatinFastPath() {
+    }
+
+    /**
+     * Segment the text.
+     *
+     * @param segment the segment of the CJK runs
+     * @param text    the text
+     * @return the terms with offsets relative to the text
+     */
+    public static List<Term> seg(Segment segment, char[] text) {
+        List<Term> termList = new ArrayList<>();
+        // 尚未交给HanLP的区间的起点
+        int hanlpStart = 0;
+        int i = 0;
+        while (i < text.length) {
+            if (text[i] >= CJK_START) {
+                i = indexOfLatin(text, i);
+                continue;
+            }
+            int latinEnd = indexOfCjk(text, i);
+            // 紧挨着CJK的数字交给HanLP，以便识别数量词
+            int begin = i > 0 ? leadingDigitsEnd(text, i, latinEnd) : i;
+            int end = latinEnd < text.length ? trailingDigitsStart(text, begin, latinEnd) : latinEnd;
+            if (begin < end) {
+                if (hanlpStart < begin) {
+                    appendHanLP(segment, text, hanlpStart, begin, termList);
+                }
+                tokenize(text, begin, end, termList);
+                hanlpStart = end;
+            }
+            i = latinEnd;
+        }
+        if (hanlpStart < text.length) {
+            appendHanLP(segment, text, hanlpStart, text.length, termList);
+        }
+        return termList;
+    }
+
+    private static void appendHanLP(Segment segment, char[] text, int start, int end, List<Term> termList) {
+        if (start == 0 && end == text.length) {
+            // 全部是CJK字符，与原来一样整体分词
+            termList.addAll(segment.seg(text));
+            return;
+        }
+        for (Term term : segment.seg(Arrays.copyOfRange(text, start, end))) {
+            term.offset += start;
+            termList.add(term);
+        }
+    }
+
+    /**
+     * Tokenize the latin run without HanLP.
+     */
+    static void tokenize(char[] text, int start, int end, List<Term> termList) {
+        int i = start;
+        while (i < end) {
+            char c = text[i];
+            int j = i + 1;
+            Nature nature;
+            if (Character.isLetterOrDigit(c)) {
+                boolean letter = Character.isLetter(c);
+                while (j < end) {
+                    char next = text[j];
+                    if (Character.isLetterOrDigit(next)) {
+                        letter |= Character.isLetter(next);
+                        j++;
+                    } else if ((next == '.' || next == ',') && !letter && j + 1 < end && isDigit(text[j - 1]) && isDigit(text[j + 1])) {
+                        // 小数点和千分位
+                        j++;
+                    } else {
+                        break;
+                    }
+                }
+                nature = letter ? Nature.nx : Nature.m;
+            } else if (Character.isWhitespace(c)) {
+                while (j < end && Character.isWhitespace(text[j])) {
+                    j++;
+                }
+                nature = Nature.w;
+            } else {
+                nature = Nature.w;
+            }
+            Term term = new Term(j - i == 1 && c < ASCII_WORDS.length ? ASCII_WORDS[c] : new String(text, i, j - i), nature);
+            term.offset = i;
+            termList.add(term);
+            i = j;
+        }
+    }
+
+    private static int indexOfCjk(char[] text, int from) {
+        for (int i = from; i < text.length; i++) {
+            if (text[i] >= CJK_START) {
+                return i;
+            }
+        }
+        return text.length;
+    }
+
+    private static int indexOfLatin(char[] text, int from) {
+        for (int i = from; i < text.length; i++) {
+            if (text[i] < CJK_START) {
+                return i;
+            }
+        }
+        return text.length;
+    }
+
+    /**
+     * The start of the number at the end of the run, the end if the run does not end with a number.
+     */
+    private static int trailingDigitsStart(char[] text, int start, int end) {
+        int i = end;
+        while (i > start && (isDigit(text[i - 1]) || (i - 1 > start && isSeparator(text[i - 1]) && isDigit(text[i - 2]) && i < end))) {
+            i--;
+        }
+        // 字母数字混合的词不拆开
+        return i > start && Character.isLetter(text[i - 1]) ? end : i;
+    }
+
+    /**
+     * The end of the number at the start of the run, the start if the run does not start with a number.
+     */
+    private static int leadingDigitsEnd(char[] text, int start, int end) {
+        int i = start;
+        while (i < end && (isDigit(text[i]) || (i > start && i + 1 < end && isSeparator(text[i]) && isDigit(text[i + 1])))) {
+            i++;
+        }
+        return i < end && Character.isLetter(text[i]) ? start : i;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == ',';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.segment;
+
+import com.hankcs.hanlp.model.crf.CRFLexicalAnalyzer;
+import com.hankcs.hanlp.model.crf.CRFNERecognizer;
+import com.hankcs.hanlp.model.crf.CRFPOSTagger;
+import com.hankcs.hanlp.model.perceptron.PerceptronLexicalAnalyzer;
+import com.hankcs.hanlp.model.perceptron.model.LinearModel;
+import com.hankcs.hanlp.seg.Segment;
+import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.model.CRFNERecognizerInstance;
+import org.opensearch.plugin.analysis.hanlp.model.CRFPOSTaggerInstance;
+import org.opensearch.plugin.analysis.hanlp.model.CRFSegmenterInstance;
+import org.opensearch.plugin.analysis.hanlp.model.PerceptronCWSInstance;
+import org.opensearch.plugin.analysis.hanlp.model.PerceptronNERInstance;
+import org.opensearch.plugin.analysis.hanlp.model.PerceptronPOSInstance;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+/**
+ * Build the lexical analyzers with only the stages the configuration needs, the models of the stages which are not
+ * needed are not even loaded, so a tokenizer only used for word segmentation pays for the CWS model alone.
+ *
+ * @author Rory Ye
+ */
+public class LexicalAnalyzerBuilder {
+
+    private LexicalAnalyzerBuilder() {
+    }
+
+    /**
+     * The perceptron lexical analyzer.
+     *
+     * @param configuration the configuration
+     * @return the segment
+     */
+    public static Segment perceptron(Configuration configuration) {
+        return AccessController.doPrivileged((PrivilegedAction<Segment>) () -> {
+            LinearModel cws = PerceptronCWSInstance.getInstance().getLinearModel();
+            if (!configuration.isPartOfSpeechTaggingNeeded()) {
+                return new PerceptronLexicalAnalyzer(cws);
+            }
+            LinearModel pos = PerceptronPOSInstance.getInstance().getLinearModel();
+            if (!configuration.isNamedEntityRecognitionNeeded()) {
+                return new PerceptronLexicalAnalyzer(cws, pos);
+            }
+            return new PerceptronLexicalAnalyzer(cws, pos, PerceptronNERInstance.getInstance().getLinearModel());
+        });
+    }
+
+    /**
+     * The CRF lexical analyzer, the stages whose models do not exist are skipped too.
+     *
+     * @param configuration the configuration
+     * @return the segment
+     */
+    public static Segment crf(Configuration configuration) {
+        return AccessController.doPrivileged((PrivilegedAction<Segment>) () -> {
+            CRFPOSTagger tagger = configuration.isPartOfSpeechTaggingNeeded() ? CRFPOSTaggerInstance.getInstance().getTagger() : null;
+            if (tagger == null) {
+                return new CRFLexicalAnalyzer(CRFSegmenterInstance.getInstance().getSegmenter());
+            }
+            CRFNERecognizer recognizer = configuration.isNamedEntityRecognitionNeeded()
+                    ? CRFNERecognizerInstance.getInstance().getRecognizer()
+                    : null;
+            if (recognizer == null) {
+                return new CRFLexicalAnalyzer(CRFSegmenterInstance.getInstance().getSegmenter(), tagger);
+            }
+            return new CRFLexicalAnalyzer(CRFSegmenterInstance.getInstance().getSegmenter(), tagger, recognizer);
+        });
+    }
+}
@@ -7,11 +7,12 @@
  */
 package org.opensearch.plugin.analysis.hanlp.segment;
 
-import com.hankcs.hanlp.dictionary.other.CharTable;
 import com.hankcs.hanlp.seg.Segment;
 import com.hankcs.hanlp.seg.common.Term;
 import org.opensearch.common.util.set.Sets;
+import org.opensearch.plugin.analysis.hanlp.charfilter.HanLPNormalizeCharFilter;
 import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.dictionary.ConversionDictionary;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -45,6 +46,10 @@ public class SegmentWrapper {
      * term的偏移量，由于wrapper是按行读取的，必须对term.offset做一个校正
      */
     private int offset;
+    /**
+     * 当前文档分词的累计耗时
+     */
+    private long segmentNanos;
     /**
      * 缓冲区大小
      */
@@ -78,28 +83,29 @@ public class SegmentWrapper {
     public void reset(Reader reader) {
         input = reader;
         offset = 0;
+        segmentNanos = 0;
         iterator = null;
+        if (segment instanceof AdaptiveSegment) {
+            // 新文档重新开始计算时间预算
+            ((AdaptiveSegment) segment).startDocument();
+        }
     }
 
     public int getOffset() {
         return offset;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    public long getSegmentNanos() {
+        return segmentNanos;
+    }
+
     public Term next() throws IOException {
         if (iterator != null && iterator.hasNext()) return iterator.next();
         String line = readLine();
         if (line == null) return null;
-        List<Term> termList = AccessController.doPrivileged((PrivilegedAction<List<Term>>) () -> {
-            char[] text = line.toCharArray();
-            if (configuration != null && configuration.isEnableNormalization()) {
-                AccessController.doPrivileged((PrivilegedAction) () -> {
-                    CharTable.normalization(text);
-                    return null;
-                });
-            }
-            return segment.seg(text);
-        });
+        long start = System.nanoTime();
+        List<Term> termList = AccessController.doPrivileged((PrivilegedAction<List<Term>>) () -> segment(line));
+        segmentNanos += System.nanoTime() - start;
         if (termList.size() == 0) return null;
         for (Term term : termList) {
             term.offset += offset;
@@ -109,6 +115,37 @@ public class SegmentWrapper {
         return iterator.next();
     }
 
+    private List<Term> segment(String line) {
+        char[] text = line.toCharArray();
+        boolean normalization = configuration != null && configuration.isEnableNormalization();
+        if (normalization) {
+            HanLPNormalizeCharFilter.normalize(text, 0, text.length);
+        }
+        if (configuration == null || !configuration.isEnableCustomConfig() || !configuration.isEnableTraditionalChineseMode()) {
+            return seg(text);
+        }
+        // 转换前的文本，用于还原term的原始字形，未归一化时就是line本身
+        String original = null;
+        if (configuration.isEnableTraditionalChineseSurfaceForm() && configuration.isEnableOffset()) {
+            original = normalization ? new String(text) : line;
+        }
+        ConversionDictionary.traditionalToSimplified().convertInPlace(text);
+        List<Term> termList = seg(text);
+        if (original != null) {
+            for (Term term : termList) {
+                term.word = original.substring(term.offset, term.offset + term.length());
+            }
+        }
+        return termList;
+    }
+
+    private List<Term> seg(char[] text) {
+        if (configuration != null && configuration.isEnableLatinFastPath()) {
+            return LatinFastPath.seg(segment, text);
+        }
+        return segment.seg(text);
+    }
+
     private String readLine() throws IOException {
         int offset = 0;
         int length = BUFFER_SIZE;
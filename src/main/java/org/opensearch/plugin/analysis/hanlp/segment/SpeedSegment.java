@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.segment;
+
+import com.hankcs.hanlp.collection.trie.DoubleArrayTrie;
+import com.hankcs.hanlp.corpus.tag.Nature;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import com.hankcs.hanlp.dictionary.CustomDictionary;
+import com.hankcs.hanlp.seg.Segment;
+import com.hankcs.hanlp.seg.common.Term;
+import org.opensearch.plugin.analysis.hanlp.dictionary.SpeedDictionary;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The longest matching segment over the merged trie of {@link SpeedDictionary}.
+ * <p>
+ * It works like {@link com.hankcs.hanlp.seg.Other.DoubleArrayTrieSegment}, but reads the current merged trie for every
+ * sentence, so a long living tokenizer sees the custom words after every reload. An index with its own custom
+ * dictionary matches the core trie and its own trie one after another instead.
+ *
+ * @author Rory Ye
+ */
+public class SpeedSegment extends Segment {
+
+    public SpeedSegment() {
+        super();
+        SpeedDictionary.getInstance();
+    }
+
+    @Override
+    protected List<Term> segSentence(char[] sentence) {
+        int[] wordNet = new int[sentence.length];
+        Arrays.fill(wordNet, 1);
+        Nature[] natureArray = config.speechTagging ? new Nature[sentence.length] : null;
+        DoubleArrayTrie<CoreDictionary.Attribute> merged = SpeedDictionary.getInstance().getTrie();
+        if (!config.useCustomDictionary) {
+            matchLongest(sentence, wordNet, natureArray, CoreDictionary.trie);
+        } else if (customDictionary == CustomDictionary.DEFAULT && merged != null) {
+            matchLongest(sentence, wordNet, natureArray, merged);
+        } else {
+            matchLongest(sentence, wordNet, natureArray, CoreDictionary.trie);
+            matchLongest(sentence, wordNet, natureArray, customDictionary.dat);
+        }
+        if (config.useCustomDictionary && customDictionary.trie != null && customDictionary.trie.size() > 0) {
+            // 尚未合并进双数组trie的在线词条
+            customDictionary.trie.parseLongestText(sentence, (begin, end, value) -> {
+                if (natureArray != null) {
+                    Arrays.fill(natureArray, begin, end, value.nature[0]);
+                }
+                wordNet[begin] = end - begin;
+                Arrays.fill(wordNet, begin + 1, end, 0);
+            });
+        }
+        posTag(sentence, wordNet, natureArray);
+        List<Term> termList = new LinkedList<>();
+        for (int i = 0; i < wordNet.length; ) {
+            Term term = new Term(new String(sentence, i, wordNet[i]),
+                    config.speechTagging ? (natureArray[i] == null ? Nature.nz : natureArray[i]) : null);
+            term.offset = i;
+            termList.add(term);
+            i += wordNet[i];
+        }
+        return termList;
+    }
+
+    private static void matchLongest(char[] sentence, int[] wordNet, Nature[] natureArray, DoubleArrayTrie<CoreDictionary.Attribute> trie) {
+        DoubleArrayTrie<CoreDictionary.Attribute>.LongestSearcher searcher = trie.getLongestSearcher(sentence, 0);
+        while (searcher.next()) {
+            if (natureArray != null && searcher.value != null) {
+                Arrays.fill(natureArray, searcher.begin, searcher.begin + searcher.length, searcher.value.nature[0]);
+            }
+            wordNet[searcher.begin] = searcher.length;
+            Arrays.fill(wordNet, searcher.begin + 1, searcher.begin + searcher.length, 0);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.stats;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.plugin.analysis.hanlp.segment.AdaptiveEngine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The engines chosen by an adaptive tokenizer of the local node, kept by tokenizer name and index like
+ * {@link TokenizerStats}: the chunks every engine segmented, their chars and the time spent. The cost of the next chunk
+ * is estimated by the exponentially weighted moving average of the cost per char of the engine, so every adaptive
+ * tokenizer learns from its own text only and a single slow chunk, a GC pause or a cold cache, is forgotten after a few
+ * chunks. An engine estimated over the budget is probed every {@value #PROBE_INTERVAL} times it is skipped, otherwise
+ * it would get no new samples to recover from.
+ * <p>
+ * The stats of an index are dropped once the index is removed from the node.
+ *
+ * @author Rory Ye
+ */
+public class AdaptiveStats implements Writeable, ToXContentObject {
+
+    /**
+     * 新样本在移动平均中的权重
+     */
+    static final double ALPHA = 0.3;
+
+    /**
+     * 超出预算的引擎每跳过这么多次试探一次
+     */
+    static final int PROBE_INTERVAL = 16;
+
+    private static final Map<String, AdaptiveStats> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * The stats of the adaptive tokenizer in the index.
+     *
+     * @param tokenizer the tokenizer name
+     * @param index     the index name, may be {@code null}
+     * @return the stats
+     */
+    public static AdaptiveStats of(String tokenizer, String index) {
+        String indexName = index == null ? TokenizerStats.NO_INDEX : index;
+        return STATS.computeIfAbsent(key(tokenizer, indexName), key -> new AdaptiveStats(tokenizer, indexName));
+    }
+
+    public static Collection<AdaptiveStats> all() {
+        return new ArrayList<>(STATS.values());
+    }
+
+    /**
+     * Drop the stats of a removed index.
+     *
+     * @param index the index name
+     */
+    public static void remove(String index) {
+        STATS.values().removeIf(stats -> stats.index.equals(index));
+    }
+
+    private final String tokenizer;
+
+    private final String index;
+
+    /**
+     * 各引擎的选中次数，下标为引擎序号
+     */
+    private final LongAdder[] chosen;
+
+    private final LongAdder[] chars;
+
+    private final LongAdder[] nanos;
+
+    /**
+     * 各引擎每字符耗时的移动平均，double的位表示，0表示还没有样本
+     */
+    private final AtomicLongArray nanosPerChar;
+
+    /**
+     * 各引擎超出预算被跳过的次数
+     */
+    private final AtomicLongArray skipped;
+
+    private AdaptiveStats(String tokenizer, String index) {
+        this.tokenizer = tokenizer;
+        this.index = index;
+        int engines = AdaptiveEngine.values().length;
+        this.chosen = newAdders(engines);
+        this.chars = newAdders(engines);
+        this.nanos = newAdders(engines);
+        this.nanosPerChar = new AtomicLongArray(engines);
+        this.skipped = new AtomicLongArray(engines);
+    }
+
+    public AdaptiveStats(StreamInput in) throws IOException {
+        this(in.readString(), in.readString());
+        long[] chosenCounts = in.readVLongArray();
+        long[] charCounts = in.readVLongArray();
+        long[] nanoCounts = in.readVLongArray();
+        // 不同版本的节点引擎数量可能不同
+        for (int i = 0; i < chosen.length && i < chosenCounts.length; i++) {
+            chosen[i].add(chosenCounts[i]);
+            chars[i].add(charCounts[i]);
+            nanos[i].add(nanoCounts[i]);
+        }
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Record a chunk segmented by the engine.
+     *
+     * @param engine      the engine
+     * @param length      the chunk length
+     * @param tookInNanos the time spent
+     */
+    public void record(AdaptiveEngine engine, int length, long tookInNanos) {
+        chosen[engine.ordinal()].increment();
+        chars[engine.ordinal()].add(length);
+        nanos[engine.ordinal()].add(tookInNanos);
+        if (length > 0) {
+            double sample = (double) tookInNanos / length;
+            // 并发时丢失个别样本无妨
+            double average = Double.longBitsToDouble(nanosPerChar.get(engine.ordinal()));
+            double updated = average == 0 ? sample : average + ALPHA * (sample - average);
+            nanosPerChar.set(engine.ordinal(), Double.doubleToLongBits(updated));
+        }
+    }
+
+    /**
+     * Estimate the time the engine takes to segment a chunk by its recent cost per char, no estimate before its first
+     * chunk.
+     *
+     * @param engine the engine
+     * @param length the chunk length
+     * @return the estimated time in nanos
+     */
+    public long estimateNanos(AdaptiveEngine engine, int length) {
+        return (long) (Double.longBitsToDouble(nanosPerChar.get(engine.ordinal())) * length);
+    }
+
+    /**
+     * Count an engine skipped for being estimated over the budget.
+     *
+     * @param engine the engine
+     * @return whether to probe the engine anyway
+     */
+    public boolean probe(AdaptiveEngine engine) {
+        return skipped.incrementAndGet(engine.ordinal()) % PROBE_INTERVAL == 0;
+    }
+
+    /**
+     * Add the stats of the same tokenizer and index of another node.
+     *
+     * @param other the stats
+     */
+    public void add(AdaptiveStats other) {
+        for (int i = 0; i < chosen.length; i++) {
+            chosen[i].add(other.chosen[i].sum());
+            chars[i].add(other.chars[i].sum());
+            nanos[i].add(other.nanos[i].sum());
+        }
+    }
+
+    /**
+     * A copy to add the stats of the other nodes to.
+     *
+     * @return the copy
+     */
+    public AdaptiveStats copy() {
+        AdaptiveStats copy = new AdaptiveStats(tokenizer, index);
+        copy.add(this);
+        return copy;
+    }
+
+    public String getKey() {
+        return key(tokenizer, index);
+    }
+
+    private static String key(String tokenizer, String index) {
+        return tokenizer + ":" + index;
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(tokenizer);
+        out.writeString(index);
+        out.writeVLongArray(sums(chosen));
+        out.writeVLongArray(sums(chars));
+        out.writeVLongArray(sums(nanos));
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("tokenizer", tokenizer);
+        builder.field("index", index);
+        builder.startObject("engines");
+        for (AdaptiveEngine engine : AdaptiveEngine.values()) {
+            builder.startObject(engine.getName());
+            builder.field("chosen", chosen[engine.ordinal()].sum());
+            builder.field("chars", chars[engine.ordinal()].sum());
+            builder.field("time_in_millis", TimeUnit.NANOSECONDS.toMillis(nanos[engine.ordinal()].sum()));
+            builder.endObject();
+        }
+        builder.endObject();
+        builder.endObject();
+        return builder;
+    }
+}
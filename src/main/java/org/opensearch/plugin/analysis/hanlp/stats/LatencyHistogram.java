@@ -0,0 +1,163 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.stats;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A lock free latency histogram in microseconds with log linear buckets like HdrHistogram: the values below
+ * {@value #SUB_BUCKETS} have a bucket each, every power of two above is split into {@value #SUB_BUCKETS} linear
+ * buckets, so a percentile is off by at most 1/{@value #SUB_BUCKETS} of the value. The values above
+ * 2<sup>{@value #MAX_EXPONENT}</sup> microseconds fall into the last bucket.
+ * <p>
+ * Recording is a single atomic increment of a bucket. The histograms of the nodes are merged by adding the buckets,
+ * only the buckets with values are sent over the wire.
+ *
+ * @author Rory Ye
+ */
+public class LatencyHistogram implements Writeable, ToXContentFragment {
+
+    private static final int SUB_BITS = 4;
+
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    static final int MAX_EXPONENT = 36;
+
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final String[] PERCENTILE_FIELDS = {"p50", "p90", "p99", "p999"};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+    }
+
+    public LatencyHistogram(StreamInput in) throws IOException {
+        int size = in.readVInt();
+        for (int i = 0; i < size; i++) {
+            counts.set(in.readVInt(), in.readVLong());
+        }
+        max.accumulate(in.readVLong());
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param micros the latency in microseconds
+     */
+    public void record(long micros) {
+        counts.incrementAndGet(bucket(Math.max(micros, 0)));
+        max.accumulate(micros);
+    }
+
+    /**
+     * Add the values of another histogram.
+     *
+     * @param other the histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        max.accumulate(other.max.get());
+    }
+
+    /**
+     * The value at the percentile, the upper bound of its bucket.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the value in microseconds, 0 if the histogram is empty
+     */
+    public long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        // 最高位之后的SUB_BITS位决定在该2的幂区间内的线性桶
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        // 先取快照，写入过程中仍可能有新的记录
+        long[] snapshot = new long[BUCKETS];
+        int size = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            if (snapshot[i] > 0) {
+                size++;
+            }
+        }
+        out.writeVInt(size);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (snapshot[i] > 0) {
+                out.writeVInt(i);
+                out.writeVLong(snapshot[i]);
+            }
+        }
+        out.writeVLong(max.get());
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("latency_in_micros");
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            builder.field(PERCENTILE_FIELDS[i], percentile(PERCENTILES[i]));
+        }
+        builder.field("max", max.get());
+        builder.endObject();
+        return builder;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.stats;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The analysis stats of the HanLP tokenizers of the local node, kept by tokenizer type and index: the analyzed values,
+ * the chars and the tokens, the time spent in segmentation and its latency histogram per value. The tokenizers without
+ * an index, those of the ingest processors and the segment endpoint, are kept under {@value #NO_INDEX}.
+ * <p>
+ * A tokenizer records once per value when it ends. A value is whatever the tokenizer analyzed, each value of a multi
+ * valued field, a query string or an {@code _analyze} text, so the values are not the indexed documents. The counters
+ * are {@link LongAdder}s so the indexing threads do not contend on them. The stats of an index are dropped once the
+ * index is removed from the node.
+ *
+ * @author Rory Ye
+ */
+public class TokenizerStats implements Writeable, ToXContentObject {
+
+    public static final String NO_INDEX = "_none";
+
+    private static final Map<String, TokenizerStats> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * The stats of the tokenizer type in the index.
+     *
+     * @param type  the tokenizer type
+     * @param index the index name, may be {@code null}
+     * @return the stats
+     */
+    public static TokenizerStats of(String type, String index) {
+        String indexName = index == null ? NO_INDEX : index;
+        return STATS.computeIfAbsent(key(type, indexName), key -> new TokenizerStats(type, indexName));
+    }
+
+    public static Collection<TokenizerStats> all() {
+        return new ArrayList<>(STATS.values());
+    }
+
+    /**
+     * Drop the stats of a removed index.
+     *
+     * @param index the index name
+     */
+    public static void remove(String index) {
+        STATS.values().removeIf(stats -> stats.index.equals(index));
+    }
+
+    private final String type;
+
+    private final String index;
+
+    private final LongAdder values = new LongAdder();
+
+    private final LongAdder chars = new LongAdder();
+
+    private final LongAdder tokens = new LongAdder();
+
+    private final LongAdder timeInNanos = new LongAdder();
+
+    private final LatencyHistogram latency;
+
+    private TokenizerStats(String type, String index) {
+        this.type = type;
+        this.index = index;
+        this.latency = new LatencyHistogram();
+    }
+
+    public TokenizerStats(StreamInput in) throws IOException {
+        this.type = in.readString();
+        this.index = in.readString();
+        this.values.add(in.readVLong());
+        this.chars.add(in.readVLong());
+        this.tokens.add(in.readVLong());
+        this.timeInNanos.add(in.readVLong());
+        this.latency = new LatencyHistogram(in);
+    }
+
+    /**
+     * Record an analyzed value.
+     *
+     * @param length       the chars of the value
+     * @param tokenCount   the tokens of the value
+     * @param segmentNanos the time spent in segmentation
+     */
+    public void record(int length, int tokenCount, long segmentNanos) {
+        values.increment();
+        chars.add(length);
+        tokens.add(tokenCount);
+        timeInNanos.add(segmentNanos);
+        latency.record(TimeUnit.NANOSECONDS.toMicros(segmentNanos));
+    }
+
+    /**
+     * Add the stats of the same tokenizer type and index of another node.
+     *
+     * @param other the stats
+     */
+    public void add(TokenizerStats other) {
+        values.add(other.values.sum());
+        chars.add(other.chars.sum());
+        tokens.add(other.tokens.sum());
+        timeInNanos.add(other.timeInNanos.sum());
+        latency.add(other.latency);
+    }
+
+    /**
+     * A copy to add the stats of the other nodes to.
+     *
+     * @return the copy
+     */
+    public TokenizerStats copy() {
+        TokenizerStats copy = new TokenizerStats(type, index);
+        copy.add(this);
+        return copy;
+    }
+
+    public long getTimeInNanos() {
+        return timeInNanos.sum();
+    }
+
+    public String getKey() {
+        return key(type, index);
+    }
+
+    private static String key(String type, String index) {
+        return type + ":" + index;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(type);
+        out.writeString(index);
+        out.writeVLong(values.sum());
+        out.writeVLong(chars.sum());
+        out.writeVLong(tokens.sum());
+        out.writeVLong(timeInNanos.sum());
+        latency.writeTo(out);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("tokenizer", type);
+        builder.field("index", index);
+        builder.field("values", values.sum());
+        builder.field("chars", chars.sum());
+        builder.field("tokens", tokens.sum());
+        builder.field("time_in_millis", TimeUnit.NANOSECONDS.toMillis(timeInNanos.sum()));
+        latency.toXContent(builder, params);
+        builder.endObject();
+        return builder;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.tokenizer;
+
+import com.hankcs.hanlp.HanLP;
+import org.apache.lucene.analysis.Tokenizer;
+import org.opensearch.common.io.FileSystemUtils;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.env.Environment;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.analysis.AbstractTokenizerFactory;
+import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.segment.AdaptiveEngine;
+import org.opensearch.plugin.analysis.hanlp.segment.AdaptiveSegment;
+import org.opensearch.plugin.analysis.hanlp.stats.AdaptiveStats;
+import org.opensearch.plugin.analysis.hanlp.stats.TokenizerStats;
+
+import java.nio.file.Paths;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The adaptive tokenizer, every chunk is segmented by CRF, perceptron, the standard segment or the speed segment
+ * depending on its length and the time budget of the document, see {@link AdaptiveSegment}. The settings are:
+ * <pre>
+ * time_budget                 the time budget per document, 20ms by default
+ * crf_max_chunk_length        the longest chunk segmented by CRF, 100 by default, 0 to disable CRF
+ * nlp_max_chunk_length        the longest chunk segmented by perceptron, 300 by default, 0 to disable perceptron
+ * standard_max_chunk_length   the longest chunk segmented by the standard segment, unlimited by default
+ * </pre>
+ * The CRF and perceptron stages are skipped when their models do not exist.
+ *
+ * @author Rory Ye
+ */
+public class HanLPAdaptiveTokenizerFactory extends AbstractTokenizerFactory {
+
+    private final Configuration configuration;
+
+    /**
+     * 从准确到快速排列的各分词阶段
+     */
+    private final List<AdaptiveSegment.Stage> stages;
+
+    private final long timeBudgetInNanos;
+
+    private final TokenizerStats stats;
+
+    private final AdaptiveStats adaptiveStats;
+
+    public HanLPAdaptiveTokenizerFactory(IndexSettings indexSettings, Environment env, String name, Settings settings) {
+        super(indexSettings, settings, name);
+        this.configuration = new Configuration(env, settings, indexSettings.getIndex()).freeze();
+        this.timeBudgetInNanos = settings.getAsTime("time_budget", TimeValue.timeValueMillis(20)).nanos();
+        this.stats = TokenizerStats.of("hanlp_adaptive", indexSettings.getIndex().getName());
+        this.adaptiveStats = AdaptiveStats.of(name, indexSettings.getIndex().getName());
+        List<AdaptiveSegment.Stage> stages = new ArrayList<>();
+        int crfMaxChunkLength = settings.getAsInt("crf_max_chunk_length", 100);
+        if (crfMaxChunkLength > 0
+                && exists(AccessController.doPrivileged((PrivilegedAction<String>) () -> HanLP.Config.CRFCWSModelPath))) {
+            stages.add(stage(AdaptiveEngine.CRF, TokenizerType.CRF, crfMaxChunkLength));
+        }
+        int nlpMaxChunkLength = settings.getAsInt("nlp_max_chunk_length", 300);
+        if (nlpMaxChunkLength > 0
+                && exists(AccessController.doPrivileged((PrivilegedAction<String>) () -> HanLP.Config.PerceptronCWSModelPath))) {
+            stages.add(stage(AdaptiveEngine.NLP, TokenizerType.NLP, nlpMaxChunkLength));
+        }
+        stages.add(stage(AdaptiveEngine.STANDARD, TokenizerType.STANDARD,
+                settings.getAsInt("standard_max_chunk_length", Integer.MAX_VALUE)));
+        stages.add(stage(AdaptiveEngine.SPEED, TokenizerType.SPEED, Integer.MAX_VALUE));
+        this.stages = Collections.unmodifiableList(stages);
+    }
+
+    private AdaptiveSegment.Stage stage(AdaptiveEngine engine, TokenizerType tokenizerType, int maxChunkLength) {
+        SegmentTemplate template = SegmentTemplate.of(tokenizerType, configuration);
+        return new AdaptiveSegment.Stage(engine, template::get, maxChunkLength);
+    }
+
+    private static boolean exists(String modelPath) {
+        return FileSystemUtils.exists(Paths.get(modelPath).toAbsolutePath());
+    }
+
+    @Override
+    public Tokenizer create() {
+        // 时间预算按分词器计算，每个分词器一个实例
+        return AccessController.doPrivileged((PrivilegedAction<HanLPTokenizer>) () ->
+                new HanLPTokenizer(new AdaptiveSegment(stages, timeBudgetInNanos, adaptiveStats), configuration, stats));
+    }
+}
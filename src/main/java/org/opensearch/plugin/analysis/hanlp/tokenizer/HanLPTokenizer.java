@@ -14,12 +14,15 @@ import com.hankcs.hanlp.utility.TextUtility;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PayloadAttribute;
 import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
 import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+import org.apache.lucene.util.BytesRef;
 import org.opensearch.plugin.analysis.hanlp.config.Configuration;
 import org.opensearch.plugin.analysis.hanlp.dictionary.CustomStopWordDictionary;
 import org.opensearch.plugin.analysis.hanlp.segment.PorterStemmer;
 import org.opensearch.plugin.analysis.hanlp.segment.SegmentWrapper;
+import org.opensearch.plugin.analysis.hanlp.stats.TokenizerStats;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -49,6 +52,18 @@ public class HanLPTokenizer extends Tokenizer {
      * 词性
      */
     private final TypeAttribute typeAtt = addAttribute(TypeAttribute.class);
+    /**
+     * 词性序号
+     */
+    private final NatureAttribute natureAtt = addAttribute(NatureAttribute.class);
+    /**
+     * 以payload保存的词性id
+     */
+    private final PayloadAttribute payloadAtt = addAttribute(PayloadAttribute.class);
+    /**
+     * 复用的payload
+     */
+    private final BytesRef payload = new BytesRef(new byte[2]);
     /**
      * 配置
      */
@@ -56,7 +71,15 @@ public class HanLPTokenizer extends Tokenizer {
     /**
      * 分词器
      */
-    private final SegmentWrapper segment;
+    private SegmentWrapper segment;
+    /**
+     * 预构建的分词器模板，模型替换后用它重建分词器
+     */
+    private final SegmentTemplate template;
+    /**
+     * 当前使用的模板分词器
+     */
+    private Segment templateSegment;
     /**
      * stemmer
      */
@@ -66,10 +89,32 @@ public class HanLPTokenizer extends Tokenizer {
      * 单文档当前所在的总offset，当reset（切换multi-value fields中的value）的时候不清零，在end（切换field）时清零
      */
     private int totalOffset = 0;
+    /**
+     * 分词统计，为空时不统计
+     */
+    private final TokenizerStats stats;
+    /**
+     * 当前文档输出的词数
+     */
+    private int tokenCount = 0;
 
     public HanLPTokenizer(Segment segment, Configuration configuration) {
+        this(segment, configuration, null);
+    }
+
+    public HanLPTokenizer(Segment segment, Configuration configuration, TokenizerStats stats) {
         this.configuration = configuration;
         this.segment = new SegmentWrapper(this.input, segment, configuration);
+        this.template = null;
+        this.stats = stats;
+    }
+
+    public HanLPTokenizer(SegmentTemplate template) {
+        this.configuration = template.getConfiguration();
+        this.template = template;
+        this.templateSegment = template.get();
+        this.segment = new SegmentWrapper(this.input, templateSegment, configuration);
+        this.stats = template.getStats();
     }
 
     @Override
@@ -106,7 +151,12 @@ public class HanLPTokenizer extends Tokenizer {
         termAtt.setEmpty().append(term.word);
         offsetAtt.setOffset(correctOffset(term.offset), correctOffset(term.offset + term.word.length()));
         typeAtt.setType(term.nature == null ? "null" : term.nature.toString());
+        natureAtt.setNature(term.nature == null ? NatureAttribute.NONE : term.nature.ordinal());
+        if (configuration.isEnableNaturePayload() && term.nature != null) {
+            payloadAtt.setPayload(NaturePayload.encode(term.nature, payload));
+        }
         totalOffset += term.length();
+        tokenCount++;
         return true;
     }
 
@@ -115,11 +165,21 @@ public class HanLPTokenizer extends Tokenizer {
         super.end();
         offsetAtt.setOffset(totalOffset, totalOffset);
         totalOffset = 0;
+        if (stats != null) {
+            stats.record(segment.getOffset(), tokenCount, segment.getSegmentNanos());
+        }
+        tokenCount = 0;
     }
 
     @Override
     public void reset() throws IOException {
         super.reset();
+        Segment latest = template == null ? null : template.get();
+        if (latest != templateSegment) {
+            // 模型已替换，后续的输入使用新模型
+            templateSegment = latest;
+            segment = new SegmentWrapper(this.input, latest, configuration);
+        }
         segment.reset(new BufferedReader(this.input));
     }
 }
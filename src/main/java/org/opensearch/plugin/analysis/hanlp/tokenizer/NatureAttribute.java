@@ -0,0 +1,34 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.tokenizer;
+
+import com.hankcs.hanlp.corpus.tag.Nature;
+import org.apache.lucene.util.Attribute;
+
+/**
+ * The {@link Nature} ordinal of the token, set by the HanLP tokenizer next to the {@code TypeAttribute}, so the
+ * filters can match the part of speech without comparing strings.
+ *
+ * @author Rory Ye
+ */
+public interface NatureAttribute extends Attribute {
+
+    /**
+     * 没有词性
+     */
+    int NONE = -1;
+
+    /**
+     * The nature ordinal.
+     *
+     * @return the ordinal, or {@link #NONE} if the token has no part of speech
+     */
+    int getNature();
+
+    void setNature(int nature);
+}
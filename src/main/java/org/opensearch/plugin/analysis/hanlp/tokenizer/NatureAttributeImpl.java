@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.tokenizer;
+
+import org.apache.lucene.util.AttributeImpl;
+import org.apache.lucene.util.AttributeReflector;
+
+/**
+ * The default implementation of {@link NatureAttribute}.
+ *
+ * @author Rory Ye
+ */
+public class NatureAttributeImpl extends AttributeImpl implements NatureAttribute {
+
+    private int nature = NONE;
+
+    @Override
+    public int getNature() {
+        return nature;
+    }
+
+    @Override
+    public void setNature(int nature) {
+        this.nature = nature;
+    }
+
+    @Override
+    public void clear() {
+        nature = NONE;
+    }
+
+    @Override
+    public void copyTo(AttributeImpl target) {
+        ((NatureAttribute) target).setNature(nature);
+    }
+
+    @Override
+    public void reflectWith(AttributeReflector reflector) {
+        reflector.reflect(NatureAttribute.class, "nature", nature);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.tokenizer;
+
+import com.hankcs.hanlp.corpus.tag.Nature;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The payload encoding of a {@link Nature}. The runtime ordinal of a nature is not stored since the custom natures get
+ * their ordinals in the order they are created, which differs from node to node and from restart to restart. Instead:
+ * <pre>
+ * 0xxxxxxx                    the id of a built-in nature below 128 in the {@link #TABLE_VERSION} table
+ * 10xxxxxx xxxxxxxx           the id of a built-in nature from 128
+ * 11000000 name in UTF-8      any other nature by name
+ * </pre>
+ * The table is append only, the id of a nature never changes once released, so the payloads indexed with an older
+ * table are still decoded right. A built-in nature missing from the table is stored by name, which only costs space.
+ * The first bytes {@code 0xC1} to {@code 0xFF} are reserved.
+ *
+ * @author Rory Ye
+ */
+public class NaturePayload {
+
+    /**
+     * The version of the built-in nature table, bumped whenever natures are appended to it.
+     */
+    public static final int TABLE_VERSION = 1;
+
+    /**
+     * 内置词性表，只能在末尾追加，不能修改已有的顺序
+     */
+    static final String[] BUILT_IN = {
+            "bg", "mg", "nl", "nx", "qg", "ud", "uj", "uz", "ug", "ul", "uv", "yg", "zg",
+            "n", "nr", "nrj", "nrf", "nr1", "nr2", "ns", "nsf", "nt", "ntc", "ntcf", "ntcb", "ntch", "nto", "ntu", "nts",
+            "nth", "nh", "nhm", "nhd", "nn", "nnt", "nnd", "ng", "nf", "ni", "nit", "nic", "nis", "nm", "nmc", "nb", "nba",
+            "nbc", "nbp", "nz", "g", "gm", "gp", "gc", "gb", "gbc", "gg", "gi", "j", "i", "l", "t", "tg", "s", "f",
+            "v", "vd", "vn", "vshi", "vyou", "vf", "vx", "vi", "vl", "vg", "a", "ad", "an", "ag", "al", "b", "bl", "z",
+            "r", "rr", "rz", "rzt", "rzs", "rzv", "ry", "ryt", "rys", "ryv", "rg", "Rg", "m", "mq", "Mg", "q", "qv", "qt",
+            "d", "dg", "dl", "p", "pba", "pbei", "c", "cc", "u", "uzhe", "ule", "uguo", "ude1", "ude2", "ude3", "usuo",
+            "udeng", "uyy", "udh", "uls", "uzhi", "ulian", "e", "y", "o", "h", "k", "x", "xx", "xu", "w", "wkz", "wky",
+            "wyz", "wyy", "wj", "ww", "wt", "wd", "wf", "wn", "wm", "ws", "wp", "wb", "wh", "end", "begin"
+    };
+
+    /**
+     * 以名称保存的词性的首字节
+     */
+    static final int NAME_MARKER = 0xC0;
+
+    private static final Map<String, Integer> IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < BUILT_IN.length; i++) {
+            IDS.put(BUILT_IN[i], i);
+        }
+    }
+
+    /**
+     * 运行时序号到表中id的缓存，-1表示不在表中，词性增加后重建
+     */
+    private static volatile int[] idsByOrdinal = new int[0];
+
+    private NaturePayload() {
+    }
+
+    /**
+     * The id of the nature in the built-in table.
+     *
+     * @param nature the nature
+     * @return the id, or {@code -1} if the nature is not in the table
+     */
+    public static int idOf(Nature nature) {
+        int[] ids = idsByOrdinal;
+        int ordinal = nature.ordinal();
+        if (ordinal >= ids.length) {
+            ids = rebuildIds();
+        }
+        return ids[ordinal];
+    }
+
+    /**
+     * The id of the nature name in the built-in table.
+     *
+     * @param name the nature name
+     * @return the id, or {@code -1} if the nature is not in the table
+     */
+    public static int idOf(String name) {
+        return IDS.getOrDefault(name, -1);
+    }
+
+    /**
+     * The name of the built-in nature.
+     *
+     * @param id the id in the table
+     * @return the name
+     */
+    public static String nameOf(int id) {
+        return BUILT_IN[id];
+    }
+
+    public static int size() {
+        return BUILT_IN.length;
+    }
+
+    private static synchronized int[] rebuildIds() {
+        Nature[] natures = Nature.values();
+        if (idsByOrdinal.length < natures.length) {
+            int[] ids = new int[natures.length];
+            for (Nature nature : natures) {
+                ids[nature.ordinal()] = idOf(nature.toString());
+            }
+            idsByOrdinal = ids;
+        }
+        return idsByOrdinal;
+    }
+
+    /**
+     * Encode the nature into the reused payload, the bytes are grown if the name does not fit.
+     *
+     * @param nature  the nature
+     * @param payload the reused payload, the length is set to the encoded length
+     * @return the payload
+     */
+    public static BytesRef encode(Nature nature, BytesRef payload) {
+        int id = idOf(nature);
+        payload.offset = 0;
+        if (id >= 0 && id < 0x80) {
+            payload.bytes = ArrayUtil.grow(payload.bytes, 1);
+            payload.bytes[0] = (byte) id;
+            payload.length = 1;
+        } else if (id >= 0) {
+            payload.bytes = ArrayUtil.grow(payload.bytes, 2);
+            payload.bytes[0] = (byte) (0x80 | (id >>> 8));
+            payload.bytes[1] = (byte) id;
+            payload.length = 2;
+        } else {
+            byte[] name = nature.toString().getBytes(StandardCharsets.UTF_8);
+            payload.bytes = ArrayUtil.grow(payload.bytes, name.length + 1);
+            payload.bytes[0] = (byte) NAME_MARKER;
+            System.arraycopy(name, 0, payload.bytes, 1, name.length);
+            payload.length = name.length + 1;
+        }
+        return payload;
+    }
+
+    /**
+     * Decode the id of a built-in nature.
+     *
+     * @param payload the payload
+     * @return the id, {@code -1} if there is no payload or the nature is stored by name
+     */
+    public static int decodeId(BytesRef payload) {
+        if (payload == null || payload.length == 0) {
+            return -1;
+        }
+        int first = payload.bytes[payload.offset] & 0xFF;
+        if ((first & 0x80) == 0) {
+            return first;
+        }
+        if ((first & 0xC0) == 0x80 && payload.length >= 2) {
+            return ((first & 0x3F) << 8) | (payload.bytes[payload.offset + 1] & 0xFF);
+        }
+        return -1;
+    }
+
+    /**
+     * Decode the nature name.
+     *
+     * @param payload the payload
+     * @return the name, {@code null} if there is no payload or it is not a nature
+     */
+    public static String decodeName(BytesRef payload) {
+        int id = decodeId(payload);
+        if (id >= 0) {
+            return id < BUILT_IN.length ? BUILT_IN[id] : null;
+        }
+        if (payload == null || payload.length < 2 || (payload.bytes[payload.offset] & 0xFF) != NAME_MARKER) {
+            return null;
+        }
+        return new String(payload.bytes, payload.offset + 1, payload.length - 1, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.tokenizer;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.seg.Dijkstra.DijkstraSegment;
+import com.hankcs.hanlp.seg.NShort.NShortSegment;
+import com.hankcs.hanlp.seg.Segment;
+import org.opensearch.index.Index;
+import org.opensearch.plugin.analysis.hanlp.config.Configuration;
+import org.opensearch.plugin.analysis.hanlp.model.ModelRegistry;
+import org.opensearch.plugin.analysis.hanlp.segment.LexicalAnalyzerBuilder;
+import org.opensearch.plugin.analysis.hanlp.segment.SpeedSegment;
+import org.opensearch.plugin.analysis.hanlp.stats.TokenizerStats;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.function.Supplier;
+
+/**
+ * The prebuilt segment of a tokenizer factory or an analyzer.
+ * <p>
+ * The options of the tokenizer type are applied to the configuration once and the configuration is frozen, then the
+ * segment is built and configured once by the first tokenizer and shared by all tokenizers, a configured HanLP segment
+ * keeps no state between sentences. The segment of the NLP and CRF tokenizers is built again once their models are
+ * swapped.
+ *
+ * @author Rory Ye
+ */
+public class SegmentTemplate {
+
+    private final TokenizerType tokenizerType;
+
+    private final Configuration configuration;
+
+    private final Supplier<Segment> segmentSupplier;
+
+    /**
+     * 是否使用可热替换的模型
+     */
+    private final boolean swappable;
+
+    private volatile Segment segment;
+
+    /**
+     * 构建segment时的模型版本
+     */
+    private volatile long modelGeneration;
+
+    /**
+     * 分词统计，首个分词器创建时获取，只用于构建其他分词器的模板不会出现在统计中
+     */
+    private volatile TokenizerStats stats;
+
+    private SegmentTemplate(TokenizerType tokenizerType, Configuration configuration, Supplier<Segment> segmentSupplier,
+                            boolean swappable) {
+        this.tokenizerType = tokenizerType;
+        this.configuration = configuration;
+        this.segmentSupplier = segmentSupplier;
+        this.swappable = swappable;
+    }
+
+    /**
+     * Build the template of the tokenizer type, the configuration is frozen.
+     *
+     * @param tokenizerType the tokenizer type
+     * @param configuration the configuration, owned by the template from then on
+     * @return the template
+     */
+    public static SegmentTemplate of(TokenizerType tokenizerType, Configuration configuration) {
+        switch (tokenizerType) {
+            case INDEX:
+                configuration.enableIndexMode(true).freeze();
+                return new SegmentTemplate(tokenizerType, configuration, () -> HanLP.newSegment().enableIndexMode(true), false);
+            case NLP:
+                configuration.freeze();
+                return new SegmentTemplate(tokenizerType, configuration, () -> LexicalAnalyzerBuilder.perceptron(configuration), true);
+            case CRF:
+                configuration.freeze();
+                return new SegmentTemplate(tokenizerType, configuration, () -> LexicalAnalyzerBuilder.crf(configuration), true);
+            case N_SHORT:
+                configuration.enableCustomDictionary(false).enablePlaceRecognize(true).enableOrganizationRecognize(true).freeze();
+                return new SegmentTemplate(tokenizerType, configuration, () -> new NShortSegment()
+                        .enableCustomDictionary(false)
+                        .enablePlaceRecognize(true)
+                        .enableOrganizationRecognize(true), false);
+            case DIJKSTRA:
+                configuration.enableCustomDictionary(false).enablePlaceRecognize(true).enableOrganizationRecognize(true).freeze();
+                return new SegmentTemplate(tokenizerType, configuration, () -> new DijkstraSegment()
+                        .enableCustomDictionary(false)
+                        .enablePlaceRecognize(true)
+                        .enableOrganizationRecognize(true), false);
+            case SPEED:
+                configuration.freeze();
+                return new SegmentTemplate(tokenizerType, configuration, SpeedSegment::new, false);
+            case HANLP:
+            case STANDARD:
+            default:
+                configuration.freeze();
+                return new SegmentTemplate(tokenizerType, configuration, HanLP::newSegment, false);
+        }
+    }
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * The analysis stats of the tokenizer type in the index of the configuration.
+     *
+     * @return the stats
+     */
+    public TokenizerStats getStats() {
+        if (stats == null) {
+            Index index = configuration.getIndex();
+            stats = TokenizerStats.of(tokenizerType.getTokenizerName(), index == null ? null : index.getName());
+        }
+        return stats;
+    }
+
+    /**
+     * The configured segment, it is built by the first tokenizer so the models are not loaded before any text is
+     * analyzed.
+     *
+     * @return the segment
+     */
+    public Segment get() {
+        if (segment == null || (swappable && modelGeneration != ModelRegistry.getInstance().getGeneration())) {
+            synchronized (this) {
+                long generation = ModelRegistry.getInstance().getGeneration();
+                if (segment == null || (swappable && modelGeneration != generation)) {//二次检查
+                    modelGeneration = generation;
+                    segment = build();
+                }
+            }
+        }
+        return segment;
+    }
+
+    private Segment build() {
+        return AccessController.doPrivileged((PrivilegedAction<Segment>) () ->
+                TokenizerBuilder.segment(segmentSupplier.get(), configuration));
+    }
+}
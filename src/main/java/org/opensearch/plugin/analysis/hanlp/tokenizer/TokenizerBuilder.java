@@ -7,15 +7,12 @@
  */
 package org.opensearch.plugin.analysis.hanlp.tokenizer;
 
-import com.hankcs.hanlp.HanLP;
 import com.hankcs.hanlp.seg.Segment;
-import com.hankcs.hanlp.seg.common.Term;
 import org.apache.lucene.analysis.Tokenizer;
 import org.opensearch.plugin.analysis.hanlp.config.Configuration;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.List;
 
 /**
  * The tokenizer builder.
@@ -29,7 +26,25 @@ public class TokenizerBuilder {
         return AccessController.doPrivileged((PrivilegedAction<HanLPTokenizer>)() -> new HanLPTokenizer(seg, configuration));
     }
 
-    private static Segment segment(Segment segment, Configuration configuration) {
+    /**
+     * The tokenizer sharing the prebuilt segment of the template.
+     *
+     * @param template the segment template
+     * @return the tokenizer
+     */
+    public static Tokenizer tokenizer(SegmentTemplate template) {
+        return AccessController.doPrivileged((PrivilegedAction<HanLPTokenizer>) () -> new HanLPTokenizer(template));
+    }
+
+    /**
+     * Configure the segment. The traditional chinese mode is applied by the {@code SegmentWrapper}, which
+     * converts the text in place before segmentation.
+     */
+    static Segment segment(Segment segment, Configuration configuration) {
+        if (configuration.getCustomDictionary() != null && configuration.isEnableCustomDictionary()) {
+            // 使用索引自己的词典代替全局词典
+            segment.enableCustomDictionary(configuration.getCustomDictionary());
+        }
         if (!configuration.isEnableCustomConfig()) {
             return segment.enableOffset(true);
         }
@@ -41,16 +56,8 @@ public class TokenizerBuilder {
                 .enableOrganizationRecognize(configuration.isEnableOrganizationRecognize())
                 .enablePlaceRecognize(configuration.isEnablePlaceRecognize())
                 .enableNameRecognize(configuration.isEnableNameRecognize())
-                .enablePartOfSpeechTagging(configuration.isEnablePartOfSpeechTagging())
+                .enablePartOfSpeechTagging(configuration.isEnablePartOfSpeechTagging() || configuration.isEnableNaturePayload())
                 .enableOffset(configuration.isEnableOffset());
-        if (configuration.isEnableTraditionalChineseMode()) {
-            return new Segment() {
-                @Override
-                protected List<Term> segSentence(char[] sentence) {
-                    return segment.seg(HanLP.convertToSimplifiedChinese(new String(sentence)));
-                }
-            };
-        }
         return segment;
     }
 }
@@ -7,6 +7,8 @@
  */
 package org.opensearch.plugin.analysis.hanlp.tokenizer;
 
+import java.util.Locale;
+
 /**
  * The tokenizer type for hanLP.
  *
@@ -45,5 +47,27 @@ public enum TokenizerType {
     /**
      * 极速词典分词
      */
-    SPEED
+    SPEED;
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The name the tokenizer of the type is registered as, like {@code hanlp_crf}.
+     *
+     * @return the tokenizer name
+     */
+    public String getTokenizerName() {
+        return this == HANLP ? "hanlp" : "hanlp_" + getName();
+    }
+
+    public static TokenizerType fromName(String name) {
+        for (TokenizerType type : values()) {
+            if (type.getName().equals(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("unknown hanlp tokenizer type [" + name + "]");
+    }
 }
@@ -19,9 +19,14 @@ import com.hankcs.hanlp.utility.Predefine;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.opensearch.plugin.analysis.hanlp.dictionary.ClusterDictionary;
+import org.opensearch.plugin.analysis.hanlp.dictionary.CustomStopWordDictionary;
+import org.opensearch.plugin.analysis.hanlp.dictionary.CustomWordOverlay;
+import org.opensearch.plugin.analysis.hanlp.dictionary.SpeedDictionary;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -36,7 +41,19 @@ public class CustomDictionaryUtils {
 
     private static final Logger logger = LogManager.getLogger(CustomDictionaryUtils.class);
 
-    public static boolean reload() {
+    /**
+     * 集群下发的词典，不为空时取代本地词典文件
+     */
+    private static volatile ClusterDictionary clusterDictionary = null;
+
+    /**
+     * 已应用的集群词典任期和版本，较旧的发布被忽略
+     */
+    private static long appliedTerm = -1;
+
+    private static long appliedVersion = -1;
+
+    public static synchronized boolean reload() {
         logger.debug("hanlp custom dictionary model size before reload: {}", CustomDictionary.DEFAULT.dat.getSize());
         String[] paths = HanLP.Config.CustomDictionaryPath;
         if (paths == null || paths.length == 0) {
@@ -48,39 +65,62 @@ public class CustomDictionaryUtils {
         return loadMainDictionary(paths[0]);
     }
 
+    /**
+     * Apply the dictionary published by the elected cluster manager, the compiled trie is swapped in directly and the
+     * online custom words it contains are drained from the overlay.
+     * <p>
+     * The publications not newer than the applied one are ignored, they may arrive out of order.
+     *
+     * @param dictionary the cluster dictionary, or {@code null} to fall back to the local dictionary files
+     * @param term       the term of the cluster manager publishing it
+     * @param version    the version of the publication in the term
+     * @return applied or not, {@code true} for an ignored older publication
+     */
+    public static synchronized boolean apply(ClusterDictionary dictionary, long term, long version) {
+        if (ClusterDictionary.compareVersions(term, version, appliedTerm, appliedVersion) <= 0) {
+            logger.info("hanlp ignore cluster dictionary publication [{}/{}], already applied [{}/{}]", term, version,
+                    appliedTerm, appliedVersion);
+            return true;
+        }
+        appliedTerm = term;
+        appliedVersion = version;
+        clusterDictionary = dictionary;
+        CustomStopWordDictionary.applyClusterStopWords(dictionary == null ? Collections.emptyList() : dictionary.getStopWords());
+        if (dictionary == null) {
+            logger.info("hanlp cluster dictionary is removed, reload custom dictionary from local files");
+            return reload();
+        }
+        try {
+            DoubleArrayTrie<CoreDictionary.Attribute> dat = dictionary.loadTrie();
+            CustomDictionary.DEFAULT.dat = dat;
+            logger.info("hanlp cluster dictionary [{}] is applied, size: {}", dictionary.getSignature(), dat.getSize());
+            // 已包含在集群词典中的在线词条不再需要BinTrie
+            CustomWordOverlay.getInstance().drain(dat);
+            SpeedDictionary.rebuildIfLoaded();
+            return true;
+        } catch (Exception e) {
+            logger.error(() -> new ParameterizedMessage("hanlp can not apply cluster dictionary [{}]", dictionary.getSignature()), e);
+            return false;
+        }
+    }
+
+    public static ClusterDictionary getClusterDictionary() {
+        return clusterDictionary;
+    }
+
     private static boolean loadMainDictionary(String mainPath) {
-        CustomDictionary.DEFAULT.dat = new DoubleArrayTrie<>();
+        DoubleArrayTrie<CoreDictionary.Attribute> dat = new DoubleArrayTrie<>();
         TreeMap<String, CoreDictionary.Attribute> map = new TreeMap<>();
         LinkedHashSet<Nature> customNatureCollector = new LinkedHashSet<>();
         try {
-            String[] paths = HanLP.Config.CustomDictionaryPath;
-            for (String path : paths) {
-                Nature defaultNature = Nature.n;
-                int cut = path.indexOf(' ');
-                if (cut > 0) {
-                    // 有默认词性
-                    String nature = path.substring(cut + 1);
-                    path = path.substring(0, cut);
-                    try {
-                        defaultNature = LexiconUtility.convertStringToNature(nature, customNatureCollector);
-                    } catch (Exception e) {
-                        String finalPath = path;
-                        logger.error(() -> new ParameterizedMessage("hanlp config file [{}] write error", finalPath), e);
-                        continue;
-                    }
-                }
-                logger.debug("hanlp begin reload custom dictionary: {}, default nature: {}", path, defaultNature);
-                if (!load(path, defaultNature, map, customNatureCollector)) {
-                    logger.warn("hanlp reload error, custom dictionary: {}", path);
-                }
-            }
+            loadWords(map, customNatureCollector);
             if (map.size() == 0) {
                 logger.warn("hanlp does not reload any words");
                 // 当作空白占位符
                 map.put(Predefine.TAG_OTHER, null);
             }
             logger.debug("hanlp begin build double array trie");
-            CustomDictionary.DEFAULT.dat.build(map);
+            dat.build(map);
             // 缓存成dat文件，下次加载会快很多
             logger.debug("hanlp converting custom dictionary cache to dat file");
             // 缓存值文件
@@ -97,9 +137,12 @@ public class CustomDictionaryUtils {
                 attribute.save(out);
             }
             logger.debug("hanlp traverse custom words to write into file successfully");
-            CustomDictionary.DEFAULT.dat.save(out);
+            dat.save(out);
             out.close();
+            // 构建完成后整体替换，分词线程不会看到构建中的trie
+            CustomDictionary.DEFAULT.dat = dat;
             logger.debug("hanlp custom dictionary model size after reload: {}", CustomDictionary.DEFAULT.dat.getSize());
+            SpeedDictionary.rebuildIfLoaded();
         } catch (FileNotFoundException e) {
             logger.error(() -> new ParameterizedMessage("hanlp custom dictionary main path [{}] is not exist", mainPath), e);
             return false;
@@ -113,44 +156,61 @@ public class CustomDictionaryUtils {
         return true;
     }
 
+    /**
+     * Load the words of the global custom dictionary: the cluster dictionary if published, otherwise the configured
+     * dictionary files, with the online custom words applied.
+     *
+     * @param map                   the words
+     * @param customNatureCollector the custom natures
+     * @throws IOException if the cluster dictionary is broken
+     */
+    public static void loadWords(TreeMap<String, CoreDictionary.Attribute> map, LinkedHashSet<Nature> customNatureCollector)
+            throws IOException {
+        ClusterDictionary cluster = clusterDictionary;
+        if (cluster == null) {
+            loadFileWords(map, customNatureCollector);
+        } else {
+            logger.debug("hanlp begin reload custom dictionary from cluster dictionary [{}]", cluster.getSignature());
+            cluster.loadWords(map, customNatureCollector);
+        }
+        CustomWordOverlay.getInstance().applyTo(map);
+    }
+
+    /**
+     * Load the words of all configured custom dictionary files.
+     *
+     * @param map                   the words
+     * @param customNatureCollector the custom natures
+     */
+    public static void loadFileWords(TreeMap<String, CoreDictionary.Attribute> map, LinkedHashSet<Nature> customNatureCollector) {
+        String[] paths = HanLP.Config.CustomDictionaryPath;
+        for (String path : paths) {
+            Nature defaultNature = Nature.n;
+            int cut = path.indexOf(' ');
+            if (cut > 0) {
+                // 有默认词性
+                String nature = path.substring(cut + 1);
+                path = path.substring(0, cut);
+                try {
+                    defaultNature = LexiconUtility.convertStringToNature(nature, customNatureCollector);
+                } catch (Exception e) {
+                    String finalPath = path;
+                    logger.error(() -> new ParameterizedMessage("hanlp config file [{}] write error", finalPath), e);
+                    continue;
+                }
+            }
+            logger.debug("hanlp begin reload custom dictionary: {}, default nature: {}", path, defaultNature);
+            if (!load(path, defaultNature, map, customNatureCollector)) {
+                logger.warn("hanlp reload error, custom dictionary: {}", path);
+            }
+        }
+    }
+
     private static boolean load(String path, Nature defaultNature, TreeMap<String, CoreDictionary.Attribute> map,
                                 LinkedHashSet<Nature> customNatureCollector) {
         try {
-            String splitter = "\\s";
-            if (path.endsWith(".csv")) {
-                splitter = ",";
-            }
             BufferedReader br = new BufferedReader(new InputStreamReader(IOUtil.newInputStream(path), StandardCharsets.UTF_8));
-            String line;
-            boolean firstLine = true;
-            while ((line = br.readLine()) != null) {
-                if (firstLine) {
-                    line = IOUtil.removeUTF8BOM(line);
-                    firstLine = false;
-                }
-                String[] param = line.split(splitter);
-                // 排除空行
-                if (param[0].length() == 0) {
-                    continue;
-                }
-                // 正规化
-                if (HanLP.Config.Normalization) {
-                    param[0] = CharTable.convert(param[0]);
-                }
-                int natureCount = (param.length - 1) / 2;
-                CoreDictionary.Attribute attribute;
-                if (natureCount == 0) {
-                    attribute = new CoreDictionary.Attribute(defaultNature);
-                } else {
-                    attribute = new CoreDictionary.Attribute(natureCount);
-                    for (int i = 0; i < natureCount; ++i) {
-                        attribute.nature[i] = LexiconUtility.convertStringToNature(param[1 + 2 * i], customNatureCollector);
-                        attribute.frequency[i] = Integer.parseInt(param[2 + 2 * i]);
-                        attribute.totalFrequency += attribute.frequency[i];
-                    }
-                }
-                map.put(param[0], attribute);
-            }
+            load(br, path.endsWith(".csv"), defaultNature, map, customNatureCollector);
             br.close();
         } catch (Exception e) {
             logger.error(() -> new ParameterizedMessage("hanlp custom dictionary [{}] read failed!", path), e);
@@ -158,4 +218,49 @@ public class CustomDictionaryUtils {
         }
         return true;
     }
+
+    /**
+     * Load the words of a custom dictionary in hanLP format, one word per line like {@code word nature frequency}.
+     *
+     * @param br                    the reader of the dictionary
+     * @param csv                   the words is separated by comma or not
+     * @param defaultNature         the nature of words without nature
+     * @param map                   the words
+     * @param customNatureCollector the custom natures
+     * @throws IOException if can not read the dictionary
+     */
+    public static void load(BufferedReader br, boolean csv, Nature defaultNature, TreeMap<String, CoreDictionary.Attribute> map,
+                            LinkedHashSet<Nature> customNatureCollector) throws IOException {
+        String splitter = csv ? "," : "\\s";
+        String line;
+        boolean firstLine = true;
+        while ((line = br.readLine()) != null) {
+            if (firstLine) {
+                line = IOUtil.removeUTF8BOM(line);
+                firstLine = false;
+            }
+            String[] param = line.split(splitter);
+            // 排除空行
+            if (param[0].length() == 0) {
+                continue;
+            }
+            // 正规化
+            if (HanLP.Config.Normalization) {
+                param[0] = CharTable.convert(param[0]);
+            }
+            int natureCount = (param.length - 1) / 2;
+            CoreDictionary.Attribute attribute;
+            if (natureCount == 0) {
+                attribute = new CoreDictionary.Attribute(defaultNature);
+            } else {
+                attribute = new CoreDictionary.Attribute(natureCount);
+                for (int i = 0; i < natureCount; ++i) {
+                    attribute.nature[i] = LexiconUtility.convertStringToNature(param[1 + 2 * i], customNatureCollector);
+                    attribute.frequency[i] = Integer.parseInt(param[2 + 2 * i]);
+                    attribute.totalFrequency += attribute.frequency[i];
+                }
+            }
+            map.put(param[0], attribute);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.dictionary;
+
+import com.hankcs.hanlp.collection.trie.DoubleArrayTrie;
+import com.hankcs.hanlp.corpus.tag.Nature;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.TreeMap;
+
+public class ClusterDictionaryTests extends OpenSearchTestCase {
+
+    public void testSerialization() throws IOException {
+        Nature custom = Nature.create("cluster_test_nature");
+        TreeMap<String, CoreDictionary.Attribute> map = new TreeMap<>();
+        map.put("云原生", new CoreDictionary.Attribute(Nature.nz, 10));
+        map.put("分词器", new CoreDictionary.Attribute(custom, 3));
+        ClusterDictionary dictionary = ClusterDictionary.build("uuid/0:1:5", 3, 7, map, Arrays.asList("的", "了"));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        dictionary.writeTo(out);
+        ClusterDictionary read;
+        try (StreamInput in = out.bytes().streamInput()) {
+            read = new ClusterDictionary(in);
+        }
+        assertEquals("uuid/0:1:5", read.getSignature());
+        assertEquals(3, read.getTerm());
+        assertEquals(7, read.getVersion());
+        assertEquals(Arrays.asList("的", "了"), read.getStopWords());
+        assertEquals(dictionary.getSizeInBytes(), read.getSizeInBytes());
+
+        TreeMap<String, CoreDictionary.Attribute> words = new TreeMap<>();
+        read.loadWords(words, new LinkedHashSet<>());
+        assertEquals(map.keySet(), words.keySet());
+        assertEquals(Nature.nz, words.get("云原生").nature[0]);
+        assertEquals(10, words.get("云原生").totalFrequency);
+        assertEquals("cluster_test_nature", words.get("分词器").nature[0].toString());
+
+        DoubleArrayTrie<CoreDictionary.Attribute> trie = read.loadTrie();
+        assertEquals(2, trie.size());
+        assertEquals(Nature.nz, trie.get("云原生").nature[0]);
+        assertNull(trie.get("不存在"));
+    }
+
+    public void testEmptyDictionary() throws IOException {
+        ClusterDictionary dictionary = ClusterDictionary.build("empty", 1, 1, new TreeMap<>(), Arrays.asList());
+        TreeMap<String, CoreDictionary.Attribute> words = new TreeMap<>();
+        dictionary.loadWords(words, new LinkedHashSet<>());
+        assertTrue(words.isEmpty());
+    }
+
+    public void testVersionOrdering() {
+        assertEquals(0, ClusterDictionary.compareVersions(2, 5, 2, 5));
+        assertTrue(ClusterDictionary.compareVersions(2, 6, 2, 5) > 0);
+        assertTrue(ClusterDictionary.compareVersions(2, 4, 2, 5) < 0);
+        // 新任期的版本从头开始，仍然比旧任期的新
+        assertTrue(ClusterDictionary.compareVersions(3, 1, 2, 100) > 0);
+        assertTrue(ClusterDictionary.compareVersions(1, 100, 2, 1) < 0);
+        // 尚未应用任何词典
+        assertTrue(ClusterDictionary.compareVersions(0, 1, -1, -1) > 0);
+    }
+}
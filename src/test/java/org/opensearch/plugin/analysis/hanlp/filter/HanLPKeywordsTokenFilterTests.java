@@ -0,0 +1,67 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.filter;
+
+import org.apache.lucene.analysis.Token;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.tests.analysis.CannedTokenStream;
+import org.apache.lucene.tests.analysis.ValidatingTokenFilter;
+import org.opensearch.test.OpenSearchTokenStreamTestCase;
+
+import java.io.IOException;
+
+public class HanLPKeywordsTokenFilterTests extends OpenSearchTokenStreamTestCase {
+
+    /**
+     * 中心与所有词共现，得分最高，但第一次出现在北京和上海之后
+     */
+    private static Token[] tokens() {
+        return new Token[]{
+                new Token("北京", 0, 2),
+                new Token("上海", 3, 5),
+                new Token("中心", 6, 8),
+                new Token("广州", 9, 11),
+                new Token("中心", 12, 14),
+                new Token("深圳", 15, 17),
+                new Token("中心", 18, 20)
+        };
+    }
+
+    public void testKeywordsAreEmittedInOffsetOrder() throws IOException {
+        TokenStream stream = new ValidatingTokenFilter(new HanLPKeywordsTokenFilter(new CannedTokenStream(tokens()), 10, 3, 10),
+                "keywords");
+        assertTokenStreamContents(stream,
+                new String[]{"北京", "上海", "中心", "广州", "深圳"},
+                new int[]{0, 3, 6, 9, 15},
+                new int[]{2, 5, 8, 11, 17});
+    }
+
+    public void testTopKeywordIsChosenByScore() throws IOException {
+        TokenStream stream = new ValidatingTokenFilter(new HanLPKeywordsTokenFilter(new CannedTokenStream(tokens()), 1, 3, 10),
+                "keywords");
+        assertTokenStreamContents(stream, new String[]{"中心"}, new int[]{6}, new int[]{8});
+    }
+
+    public void testTopKeywordsKeepOffsetOrder() throws IOException {
+        TokenStream stream = new ValidatingTokenFilter(new HanLPKeywordsTokenFilter(new CannedTokenStream(tokens()), 3, 3, 10),
+                "keywords");
+        stream.reset();
+        int lastStart = -1;
+        int count = 0;
+        OffsetAttribute offsetAtt = stream.getAttribute(OffsetAttribute.class);
+        while (stream.incrementToken()) {
+            assertTrue(offsetAtt.startOffset() >= lastStart);
+            lastStart = offsetAtt.startOffset();
+            count++;
+        }
+        stream.end();
+        stream.close();
+        assertEquals(3, count);
+    }
+}
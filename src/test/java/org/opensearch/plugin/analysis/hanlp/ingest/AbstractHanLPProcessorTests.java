@@ -0,0 +1,126 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.ingest;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.ingest.IngestDocument;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.instanceOf;
+
+public class AbstractHanLPProcessorTests extends OpenSearchTestCase {
+
+    public void testRejectedDocumentIsProcessedInline() {
+        AtomicInteger submitted = new AtomicInteger();
+        TestProcessor processor = new TestProcessor(runnable -> {
+            submitted.incrementAndGet();
+            throw new OpenSearchRejectedExecutionException("rejected");
+        });
+        IngestDocument document = document("商品和服务");
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<IngestDocument> result = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        processor.execute(document, (doc, e) -> {
+            calls.incrementAndGet();
+            result.set(doc);
+            failure.set(e);
+        });
+        assertEquals(1, submitted.get());
+        assertEquals(1, calls.get());
+        assertNull(failure.get());
+        assertSame(document, result.get());
+        assertEquals("[商品和服务]", document.getFieldValue("target", String.class));
+    }
+
+    public void testQueuedDocumentIsProcessedByThePool() {
+        List<Runnable> queue = new ArrayList<>();
+        TestProcessor processor = new TestProcessor(queue::add);
+        IngestDocument document = document("商品和服务");
+        AtomicInteger calls = new AtomicInteger();
+        processor.execute(document, (doc, e) -> calls.incrementAndGet());
+        assertEquals(0, calls.get());
+        assertEquals(1, queue.size());
+        queue.get(0).run();
+        assertEquals(1, calls.get());
+        assertEquals("[商品和服务]", document.getFieldValue("target", String.class));
+    }
+
+    public void testOtherExecutorFailureFailsDocument() {
+        TestProcessor processor = new TestProcessor(runnable -> {
+            throw new IllegalStateException("broken");
+        });
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicInteger calls = new AtomicInteger();
+        processor.execute(document("商品"), (doc, e) -> {
+            calls.incrementAndGet();
+            failure.set(e);
+        });
+        assertEquals(1, calls.get());
+        assertThat(failure.get(), instanceOf(IllegalStateException.class));
+    }
+
+    public void testProcessingFailureIsReportedOnce() {
+        TestProcessor processor = new TestProcessor(runnable -> {
+            throw new OpenSearchRejectedExecutionException("rejected");
+        });
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        processor.execute(document("fail"), (doc, e) -> {
+            calls.incrementAndGet();
+            failure.set(e);
+        });
+        assertEquals(1, calls.get());
+        assertEquals("fail", failure.get().getMessage());
+    }
+
+    public void testListValue() {
+        TestProcessor processor = new TestProcessor(Runnable::run);
+        Map<String, Object> source = new HashMap<>();
+        source.put("field", Arrays.asList("商品", null, "服务"));
+        IngestDocument document = new IngestDocument("index", "id", null, null, null, source);
+        processor.execute(document, (doc, e) -> assertNull(e));
+        assertEquals(Arrays.asList("[商品]", null, "[服务]"), document.getFieldValue("target", List.class));
+    }
+
+    private static IngestDocument document(String text) {
+        Map<String, Object> source = new HashMap<>();
+        source.put("field", text);
+        return new IngestDocument("index", "id", null, null, null, source);
+    }
+
+    private static final class TestProcessor extends AbstractHanLPProcessor {
+
+        TestProcessor(Consumer<Runnable> executor) {
+            super("test", null, "field", "target", false, null, executor, new ThreadContext(Settings.EMPTY));
+        }
+
+        @Override
+        protected Object process(String text) {
+            if ("fail".equals(text)) {
+                throw new IllegalArgumentException("fail");
+            }
+            return "[" + text + "]";
+        }
+
+        @Override
+        public String getType() {
+            return "hanlp_test";
+        }
+    }
+}
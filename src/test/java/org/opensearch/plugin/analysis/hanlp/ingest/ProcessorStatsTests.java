@@ -0,0 +1,43 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.ingest;
+
+import org.opensearch.common.Strings;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+public class ProcessorStatsTests extends OpenSearchTestCase {
+
+    public void testUntaggedProcessorsOnDifferentFieldsAreKeptApart() {
+        ProcessorStats title = ProcessorStats.of("stats_test", null, "title", "title_tokens");
+        ProcessorStats body = ProcessorStats.of("stats_test", null, "body", "body_tokens");
+        assertNotSame(title, body);
+        assertNotEquals(title.getKey(), body.getKey());
+        assertSame(title, ProcessorStats.of("stats_test", null, "title", "title_tokens"));
+        assertNotSame(title, ProcessorStats.of("stats_test", "tagged", "title", "title_tokens"));
+        assertTrue(ProcessorStats.all().contains(title));
+        assertTrue(ProcessorStats.all().contains(body));
+    }
+
+    public void testSerialization() throws IOException {
+        ProcessorStats stats = ProcessorStats.of("stats_test", "tag", "field", "target");
+        stats.onSuccess(10, 1, 2);
+        stats.onFailure(1, 2);
+        BytesStreamOutput out = new BytesStreamOutput();
+        stats.writeTo(out);
+        ProcessorStats read;
+        try (StreamInput in = out.bytes().streamInput()) {
+            read = new ProcessorStats(in);
+        }
+        assertEquals(stats.getKey(), read.getKey());
+        assertEquals(Strings.toString(stats), Strings.toString(read));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.model;
+
+import com.hankcs.hanlp.model.perceptron.feature.MutableFeatureMap;
+import com.hankcs.hanlp.model.perceptron.model.LinearModel;
+import com.hankcs.hanlp.model.perceptron.tagset.CWSTagSet;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class MappedLinearModelTests extends OpenSearchTestCase {
+
+    private static final int FEATURES = 500;
+
+    public void testFloatScoreParity() throws IOException {
+        LinearModel reference = randomModel();
+        MappedLinearModel mapped = compileAndOpen(reference, false);
+        assertFalse(mapped.isQuantized());
+        assertEquals(reference.featureMap.size(), mapped.featureMap.size());
+        for (int i = 0; i < 100; i++) {
+            int[] vector = randomVector(reference);
+            for (int tag = 0; tag < reference.featureMap.tagSet.size(); tag++) {
+                assertEquals(reference.score(vector, tag), mapped.score(vector, tag), 1e-6);
+            }
+        }
+    }
+
+    public void testQuantizedScoreParity() throws IOException {
+        LinearModel reference = randomModel();
+        MappedLinearModel mapped = compileAndOpen(reference, true);
+        assertTrue(mapped.isQuantized());
+        int tagCount = reference.featureMap.tagSet.size();
+        for (int i = 0; i < 100; i++) {
+            int[] vector = randomVector(reference);
+            for (int tag = 0; tag < tagCount; tag++) {
+                // 每个特征的误差不超过其缩放系数的一半
+                double tolerance = 0;
+                for (int index : vector) {
+                    if (index >= 0) {
+                        float max = 0;
+                        for (int t = 0; t < tagCount; t++) {
+                            max = Math.max(max, Math.abs(reference.parameter[index * tagCount + t]));
+                        }
+                        tolerance += max / 127f / 2 + 1e-6;
+                    }
+                }
+                assertEquals(reference.score(vector, tag), mapped.score(vector, tag), tolerance);
+            }
+        }
+    }
+
+    public void testFeatureLookup() throws IOException {
+        LinearModel reference = randomModel();
+        MappedLinearModel mapped = compileAndOpen(reference, randomBoolean());
+        for (int i = 0; i < FEATURES; i++) {
+            String feature = "f" + i;
+            assertEquals(reference.featureMap.idOf(feature), mapped.featureMap.idOf(feature));
+        }
+        assertEquals(-1, mapped.featureMap.idOf("missing"));
+    }
+
+    public void testReadOnly() throws IOException {
+        MappedLinearModel mapped = compileAndOpen(randomModel(), randomBoolean());
+        expectThrows(UnsupportedOperationException.class, () -> mapped.featureMap.entrySet());
+        expectThrows(UnsupportedOperationException.class, () -> mapped.compress(0.1, 1e-3));
+        expectThrows(UnsupportedOperationException.class, () -> mapped.save(new DataOutputStream(new ByteArrayOutputStream())));
+    }
+
+    private static LinearModel randomModel() {
+        MutableFeatureMap featureMap = new MutableFeatureMap(new CWSTagSet());
+        for (int i = 0; i < FEATURES; i++) {
+            featureMap.idOf("f" + i);
+        }
+        float[] parameter = new float[featureMap.size() * featureMap.tagSet.size()];
+        for (int i = 0; i < parameter.length; i++) {
+            // 部分特征块全为0
+            parameter[i] = rarely() ? 0 : (float) (randomDoubleBetween(-10, 10, true));
+        }
+        return new LinearModel(featureMap, parameter);
+    }
+
+    private static int[] randomVector(LinearModel model) {
+        int[] vector = new int[randomIntBetween(1, 20)];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = rarely() ? -1 : randomIntBetween(0, model.featureMap.size() - 1);
+        }
+        return vector;
+    }
+
+    private MappedLinearModel compileAndOpen(LinearModel reference, boolean quantize) throws IOException {
+        String suffix = quantize ? PerceptronModelLoader.INT8_SUFFIX : PerceptronModelLoader.MMAP_SUFFIX;
+        Path path = createTempDir().resolve("model.bin" + suffix);
+        MappedLinearModel.compile(reference, path, quantize);
+        return MappedLinearModel.open(path);
+    }
+}
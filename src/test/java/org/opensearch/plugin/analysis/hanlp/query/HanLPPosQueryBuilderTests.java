@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.query;
+
+import org.apache.lucene.analysis.Token;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.spans.SpanNearQuery;
+import org.apache.lucene.queries.spans.SpanOrQuery;
+import org.apache.lucene.queries.spans.SpanQuery;
+import org.apache.lucene.queries.spans.SpanTermQuery;
+import org.apache.lucene.tests.analysis.CannedTokenStream;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+public class HanLPPosQueryBuilderTests extends OpenSearchTestCase {
+
+    private static final List<String> NATURES = Collections.singletonList("ns");
+
+    private static Token token(String term, int start, int end, int increment) {
+        Token token = new Token(term, start, end);
+        token.setPositionIncrement(increment);
+        return token;
+    }
+
+    private static SpanQuery clause(String term) {
+        return new NaturePayloadSpanQuery(new SpanTermQuery(new Term("content", term)), NATURES);
+    }
+
+    private static SpanQuery spanQuery(Token... tokens) throws IOException {
+        return HanLPPosQueryBuilder.spanQuery("content", new CannedTokenStream(tokens), NATURES);
+    }
+
+    public void testAdjacentTokens() throws IOException {
+        SpanQuery expected = new SpanNearQuery.Builder("content", true).addClause(clause("北京"))
+                .addClause(clause("上海"))
+                .build();
+        assertEquals(expected, spanQuery(token("北京", 0, 2, 1), token("上海", 2, 4, 1)));
+    }
+
+    public void testRemovedTokensAreGaps() throws IOException {
+        SpanQuery expected = new SpanNearQuery.Builder("content", true).addClause(clause("北京"))
+                .addGap(2)
+                .addClause(clause("上海"))
+                .build();
+        // 开头的空位不计
+        assertEquals(expected, spanQuery(token("北京", 1, 3, 2), token("上海", 5, 7, 3)));
+    }
+
+    public void testStackedTokensMatchEither() throws IOException {
+        SpanQuery expected = new SpanNearQuery.Builder("content", true)
+                .addClause(new SpanOrQuery(clause("北京"), clause("beijing")))
+                .addClause(clause("上海"))
+                .build();
+        assertEquals(expected, spanQuery(token("北京", 0, 2, 1), token("beijing", 0, 2, 0), token("上海", 2, 4, 1)));
+    }
+
+    public void testSinglePosition() throws IOException {
+        assertEquals(clause("北京"), spanQuery(token("北京", 0, 2, 1)));
+        assertEquals(new SpanOrQuery(clause("北京"), clause("beijing")), spanQuery(token("北京", 0, 2, 1), token("beijing", 0, 2, 0)));
+        assertNull(spanQuery());
+    }
+}
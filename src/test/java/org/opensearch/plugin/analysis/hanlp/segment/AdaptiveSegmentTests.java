@@ -0,0 +1,116 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.segment;
+
+import com.hankcs.hanlp.seg.Segment;
+import com.hankcs.hanlp.seg.common.Term;
+import org.opensearch.plugin.analysis.hanlp.stats.AdaptiveStats;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class AdaptiveSegmentTests extends OpenSearchTestCase {
+
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static final char[] CHUNK = "商品和服务商品和服务".toCharArray();
+
+    public void testLoadingTheSegmentIsNotCounted() {
+        CountingSegment crf = new CountingSegment(0);
+        CountingSegment speed = new CountingSegment(0);
+        AtomicInteger loads = new AtomicInteger();
+        // 第一次取分词器时加载模型，耗时远超预算
+        Supplier<Segment> lazyCrf = () -> {
+            if (loads.getAndIncrement() == 0) {
+                sleep(200);
+            }
+            return crf;
+        };
+        AdaptiveSegment segment = segment(lazyCrf, speed);
+        for (int i = 0; i < 10; i++) {
+            segment.startDocument();
+            segment.seg(CHUNK.clone());
+        }
+        assertEquals(10, crf.calls.get());
+        assertEquals(0, speed.calls.get());
+    }
+
+    public void testSlowChunkIsForgotten() {
+        // 第一个分块很慢，之后很快
+        CountingSegment crf = new CountingSegment(200);
+        CountingSegment speed = new CountingSegment(0);
+        AdaptiveSegment segment = segment(() -> crf, speed);
+        segment.startDocument();
+        segment.seg(CHUNK.clone());
+        assertEquals(1, crf.calls.get());
+
+        segment.startDocument();
+        segment.seg(CHUNK.clone());
+        assertEquals("the slow engine is skipped first", 1, crf.calls.get());
+        assertEquals(1, speed.calls.get());
+
+        for (int i = 0; i < 1000; i++) {
+            segment.startDocument();
+            segment.seg(CHUNK.clone());
+        }
+        int before = crf.calls.get();
+        for (int i = 0; i < 10; i++) {
+            segment.startDocument();
+            segment.seg(CHUNK.clone());
+        }
+        assertEquals("the engine is chosen again once probed", before + 10, crf.calls.get());
+    }
+
+    private AdaptiveSegment segment(Supplier<Segment> crf, Segment speed) {
+        AdaptiveStats stats = AdaptiveStats.of(getTestName(), randomAlphaOfLength(10));
+        return new AdaptiveSegment(Arrays.asList(
+                new AdaptiveSegment.Stage(AdaptiveEngine.CRF, crf, 100),
+                new AdaptiveSegment.Stage(AdaptiveEngine.SPEED, () -> speed, Integer.MAX_VALUE)), BUDGET, stats);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * 记录调用次数，第一次调用睡眠指定的时间
+     */
+    private static class CountingSegment extends Segment {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final long firstCallMillis;
+
+        CountingSegment(long firstCallMillis) {
+            this.firstCallMillis = firstCallMillis;
+        }
+
+        @Override
+        public List<Term> seg(char[] text) {
+            if (calls.getAndIncrement() == 0 && firstCallMillis > 0) {
+                sleep(firstCallMillis);
+            }
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Term> segSentence(char[] sentence) {
+            return seg(sentence);
+        }
+    }
+}
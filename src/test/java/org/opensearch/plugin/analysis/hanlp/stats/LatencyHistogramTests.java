@@ -0,0 +1,93 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.stats;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+public class LatencyHistogramTests extends OpenSearchTestCase {
+
+    public void testSmallValuesHaveOwnBuckets() {
+        for (int value = 0; value < LatencyHistogram.SUB_BUCKETS; value++) {
+            assertEquals(value, LatencyHistogram.bucket(value));
+            assertEquals(value, LatencyHistogram.upperBound(value));
+        }
+    }
+
+    public void testBucketBoundaries() {
+        // 16到31每个值一个桶，32到63每两个值一个桶
+        assertEquals(16, LatencyHistogram.bucket(16));
+        assertEquals(31, LatencyHistogram.bucket(31));
+        assertEquals(32, LatencyHistogram.bucket(32));
+        assertEquals(32, LatencyHistogram.bucket(33));
+        assertEquals(33, LatencyHistogram.bucket(34));
+        assertEquals(47, LatencyHistogram.bucket(63));
+        assertEquals(48, LatencyHistogram.bucket(64));
+        assertEquals(31, LatencyHistogram.upperBound(31));
+        assertEquals(33, LatencyHistogram.upperBound(32));
+        assertEquals(63, LatencyHistogram.upperBound(47));
+        assertEquals(67, LatencyHistogram.upperBound(48));
+    }
+
+    public void testValueWithinItsBucket() {
+        for (int i = 0; i < 10000; i++) {
+            long value = randomLongBetween(0, 1L << LatencyHistogram.MAX_EXPONENT);
+            int bucket = LatencyHistogram.bucket(value);
+            long upper = LatencyHistogram.upperBound(bucket);
+            assertTrue(value + " above " + upper, value <= upper);
+            if (bucket > 0) {
+                assertTrue(value + " in bucket " + bucket, value > LatencyHistogram.upperBound(bucket - 1));
+            }
+            // 相对误差不超过1/SUB_BUCKETS
+            assertTrue(upper - value <= value / LatencyHistogram.SUB_BUCKETS);
+        }
+    }
+
+    public void testValuesAboveTheRangeFallIntoTheLastBucket() {
+        int last = LatencyHistogram.bucket(Long.MAX_VALUE);
+        assertEquals(last, LatencyHistogram.bucket(1L << (LatencyHistogram.MAX_EXPONENT + 1)));
+        assertTrue(LatencyHistogram.bucket(1L << LatencyHistogram.MAX_EXPONENT) < last);
+    }
+
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100, histogram.percentile(100));
+        long p50 = histogram.percentile(50);
+        assertTrue(p50 >= 50 && p50 <= 50 + 50 / LatencyHistogram.SUB_BUCKETS);
+        long p99 = histogram.percentile(99);
+        assertTrue(p99 >= 99 && p99 <= 100);
+    }
+
+    public void testSerializationAndMerge() throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(randomLongBetween(0, 100000));
+        }
+        BytesStreamOutput out = new BytesStreamOutput();
+        histogram.writeTo(out);
+        LatencyHistogram read;
+        try (StreamInput in = out.bytes().streamInput()) {
+            read = new LatencyHistogram(in);
+        }
+        for (double percentile : new double[] {1, 50, 90, 99, 100}) {
+            assertEquals(histogram.percentile(percentile), read.percentile(percentile));
+        }
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(histogram);
+        merged.add(read);
+        assertEquals(histogram.percentile(50), merged.percentile(50));
+        assertEquals(histogram.percentile(100), merged.percentile(100));
+    }
+}
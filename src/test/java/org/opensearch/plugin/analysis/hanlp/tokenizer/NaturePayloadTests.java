@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.plugin.analysis.hanlp.tokenizer;
+
+import com.hankcs.hanlp.corpus.tag.Nature;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.plugin.analysis.hanlp.filter.NatureMask;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public class NaturePayloadTests extends OpenSearchTestCase {
+
+    public void testBuiltInRoundTrip() {
+        BytesRef payload = new BytesRef(new byte[2]);
+        for (Nature nature : Nature.values()) {
+            NaturePayload.encode(nature, payload);
+            assertEquals(nature.toString(), NaturePayload.decodeName(payload));
+            int id = NaturePayload.idOf(nature.toString());
+            if (id >= 0) {
+                assertEquals(id, NaturePayload.decodeId(payload));
+                assertEquals(id < 0x80 ? 1 : 2, payload.length);
+            }
+        }
+    }
+
+    public void testTableIsStable() {
+        // 已发布的id不能改变
+        assertEquals(0, NaturePayload.idOf("bg"));
+        assertEquals(13, NaturePayload.idOf("n"));
+        assertEquals(NaturePayload.size() - 1, NaturePayload.idOf("begin"));
+        assertTrue("the table has more than one byte of ids", NaturePayload.size() > 0x80);
+        Set<String> names = new HashSet<>(Arrays.asList(NaturePayload.BUILT_IN));
+        assertEquals("duplicate nature in the table", NaturePayload.size(), names.size());
+    }
+
+    public void testCustomNatureByName() {
+        String name = "custom_" + randomAlphaOfLength(6);
+        Nature nature = Nature.create(name);
+        BytesRef payload = NaturePayload.encode(nature, new BytesRef(new byte[2]));
+        assertEquals(-1, NaturePayload.decodeId(payload));
+        assertEquals(name, NaturePayload.decodeName(payload));
+        assertEquals(NaturePayload.NAME_MARKER, payload.bytes[0] & 0xFF);
+    }
+
+    public void testDecodeWithOffset() {
+        BytesRef encoded = NaturePayload.encode(Nature.nr, new BytesRef(new byte[2]));
+        byte[] bytes = new byte[encoded.length + 3];
+        System.arraycopy(encoded.bytes, 0, bytes, 3, encoded.length);
+        assertEquals("nr", NaturePayload.decodeName(new BytesRef(bytes, 3, encoded.length)));
+    }
+
+    public void testNoPayload() {
+        assertEquals(-1, NaturePayload.decodeId(null));
+        assertNull(NaturePayload.decodeName(null));
+        assertNull(NaturePayload.decodeName(new BytesRef()));
+    }
+
+    public void testMaskMatchesStableIds() {
+        NatureMask mask = NatureMask.compile(Collections.singletonList("nr"));
+        assertTrue(mask.matchesBuiltIn(NaturePayload.idOf("nr")));
+        assertTrue(mask.matchesBuiltIn(NaturePayload.idOf("nrf")));
+        assertFalse(mask.matchesBuiltIn(NaturePayload.idOf("ns")));
+        assertFalse(mask.matchesBuiltIn(-1));
+        assertTrue(mask.matches("nr_custom"));
+        assertFalse(mask.matches((String) null));
+    }
+}